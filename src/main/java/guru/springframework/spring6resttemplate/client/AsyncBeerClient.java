@@ -0,0 +1,69 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerChanges;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link BeerClient} with each call returning a future. It mirrors every operation except
+ * {@code streamBeers}, whose lazy stream already leaves the caller in control of when pages are fetched.
+ * Bulk and batch operations count as one call against the async concurrency limit; their own fan-out is
+ * bounded by their {@code maxConcurrency} or {@code maxInFlight}.
+ */
+public interface AsyncBeerClient {
+    CompletableFuture<BeerDTO> getBeerById(UUID beerId);
+
+    CompletableFuture<Map<UUID, BeerDTO>> getBeersByIds(Collection<UUID> beerIds);
+
+    CompletableFuture<Map<UUID, BeerDTO>> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency);
+
+    CompletableFuture<BeerDTO> createBeer(BeerDTO beerDTO);
+
+    CompletableFuture<Void> deleteBeer(UUID beerId);
+
+    CompletableFuture<BeerDTO> updateBeer(BeerDTO beerDTO);
+
+    CompletableFuture<BatchResult<BeerDTO>> createBeers(Collection<BeerDTO> beers);
+
+    CompletableFuture<BatchResult<BeerDTO>> createBeers(Collection<BeerDTO> beers,
+                                                        int maxInFlight,
+                                                        BatchProgressListener listener);
+
+    CompletableFuture<BatchResult<BeerDTO>> updateBeers(Collection<BeerDTO> beers);
+
+    CompletableFuture<BatchResult<BeerDTO>> updateBeers(Collection<BeerDTO> beers,
+                                                        int maxInFlight,
+                                                        BatchProgressListener listener);
+
+    CompletableFuture<BatchResult<UUID>> deleteBeers(Collection<UUID> beerIds);
+
+    CompletableFuture<BatchResult<UUID>> deleteBeers(Collection<UUID> beerIds,
+                                                     int maxInFlight,
+                                                     BatchProgressListener listener);
+
+    CompletableFuture<Page<BeerDTO>> listBeers();
+
+    CompletableFuture<Page<BeerDTO>> listBeers(String beerName,
+                                               BeerStyle beerStyle,
+                                               Boolean showInventory,
+                                               Integer pageNumber,
+                                               Integer pageSize);
+
+    CompletableFuture<PageMetadata> listBeers(String beerName,
+                                              BeerStyle beerStyle,
+                                              Boolean showInventory,
+                                              Integer pageNumber,
+                                              Integer pageSize,
+                                              Consumer<BeerDTO> consumer);
+
+    CompletableFuture<BeerChanges> getBeerChanges(SyncWatermark since, Integer pageSize);
+}
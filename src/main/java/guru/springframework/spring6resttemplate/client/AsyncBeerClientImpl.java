@@ -0,0 +1,170 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerChanges;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs each {@link BeerClient} call on its own virtual thread, so blocked calls don't pin platform
+ * threads. A semaphore caps how many calls are in flight; waiting callers park their virtual thread.
+ * Actual sockets are still bounded by the shared connection pool (rest.template.pool.*).
+ */
+@Service
+public class AsyncBeerClientImpl implements AsyncBeerClient, DisposableBean {
+
+    private final BeerClient beerClient;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    @Autowired
+    public AsyncBeerClientImpl(BeerClient beerClient,
+                               @Value("${rest.template.async.max-concurrency:1000}") int maxConcurrency) {
+        this(beerClient, Executors.newVirtualThreadPerTaskExecutor(), maxConcurrency);
+    }
+
+    AsyncBeerClientImpl(BeerClient beerClient, ExecutorService executor, int maxConcurrency) {
+        this.beerClient = beerClient;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public CompletableFuture<BeerDTO> getBeerById(UUID beerId) {
+        return submit(() -> beerClient.getBeerById(beerId));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, BeerDTO>> getBeersByIds(Collection<UUID> beerIds) {
+        return submit(() -> beerClient.getBeersByIds(beerIds));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, BeerDTO>> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency) {
+        return submit(() -> beerClient.getBeersByIds(beerIds, maxConcurrency));
+    }
+
+    @Override
+    public CompletableFuture<BeerDTO> createBeer(BeerDTO beerDTO) {
+        return submit(() -> beerClient.createBeer(beerDTO));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteBeer(UUID beerId) {
+        return submit(() -> {
+            beerClient.deleteBeer(beerId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<BeerDTO> updateBeer(BeerDTO beerDTO) {
+        return submit(() -> beerClient.updateBeer(beerDTO));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<BeerDTO>> createBeers(Collection<BeerDTO> beers) {
+        return submit(() -> beerClient.createBeers(beers));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<BeerDTO>> createBeers(Collection<BeerDTO> beers,
+                                                               int maxInFlight,
+                                                               BatchProgressListener listener) {
+        return submit(() -> beerClient.createBeers(beers, maxInFlight, listener));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<BeerDTO>> updateBeers(Collection<BeerDTO> beers) {
+        return submit(() -> beerClient.updateBeers(beers));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<BeerDTO>> updateBeers(Collection<BeerDTO> beers,
+                                                               int maxInFlight,
+                                                               BatchProgressListener listener) {
+        return submit(() -> beerClient.updateBeers(beers, maxInFlight, listener));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<UUID>> deleteBeers(Collection<UUID> beerIds) {
+        return submit(() -> beerClient.deleteBeers(beerIds));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<UUID>> deleteBeers(Collection<UUID> beerIds,
+                                                            int maxInFlight,
+                                                            BatchProgressListener listener) {
+        return submit(() -> beerClient.deleteBeers(beerIds, maxInFlight, listener));
+    }
+
+    @Override
+    public CompletableFuture<Page<BeerDTO>> listBeers() {
+        return submit(beerClient::listBeers);
+    }
+
+    @Override
+    public CompletableFuture<Page<BeerDTO>> listBeers(String beerName,
+                                                      BeerStyle beerStyle,
+                                                      Boolean showInventory,
+                                                      Integer pageNumber,
+                                                      Integer pageSize) {
+        return submit(() -> beerClient.listBeers(beerName, beerStyle, showInventory, pageNumber, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<PageMetadata> listBeers(String beerName,
+                                                     BeerStyle beerStyle,
+                                                     Boolean showInventory,
+                                                     Integer pageNumber,
+                                                     Integer pageSize,
+                                                     Consumer<BeerDTO> consumer) {
+        return submit(() -> beerClient.listBeers(beerName, beerStyle, showInventory, pageNumber, pageSize, consumer));
+    }
+
+    @Override
+    public CompletableFuture<BeerChanges> getBeerChanges(SyncWatermark since, Integer pageSize) {
+        return submit(() -> beerClient.getBeerChanges(since, pageSize));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("client shut down");
+            }
+            try {
+                return call.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Interrupts running calls and fails the ones still waiting for a permit.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package guru.springframework.spring6resttemplate.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs one call per item with at most {@code maxInFlight} outstanding. Submission blocks while the
+ * window is full, so a large batch never queues more than the window ahead of the server. Anything a call
+ * throws, errors included, is recorded as that item's failure.
+ */
+final class BatchExecutor {
+
+    private BatchExecutor() {
+    }
+
+    static <I, R> BatchResult<R> run(Collection<I> items,
+                                     Function<I, R> call,
+                                     int maxInFlight,
+                                     BatchProgressListener listener,
+                                     Executor executor) {
+
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+
+        int total = items.size();
+        List<BatchResult.Item<R>> results = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            results.add(null);
+        }
+
+        Semaphore window = new Semaphore(maxInFlight);
+        CountDownLatch done = new CountDownLatch(total);
+        int[] counts = new int[2]; // completed, failed; guarded by results
+
+        int index = 0;
+        for (I item : items) {
+            int position = index++;
+            window.acquireUninterruptibly();
+
+            executor.execute(() -> {
+                try {
+                    R value = null;
+                    Throwable error = null;
+                    int completed;
+                    int failed;
+                    try {
+                        value = call.apply(item);
+                    } catch (Throwable e) {
+                        error = e;
+                    } finally {
+                        synchronized (results) {
+                            results.set(position, new BatchResult.Item<>(position, value, error));
+                            completed = ++counts[0];
+                            failed = error == null ? counts[1] : ++counts[1];
+                        }
+                        window.release();
+                    }
+                    listener.onProgress(completed, failed, total);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for batch to finish", e);
+        }
+
+        synchronized (results) {
+            return new BatchResult<>(List.copyOf(results));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package guru.springframework.spring6resttemplate.client;
+
+/**
+ * Notified from worker threads each time an item of a batch write finishes, successfully or not.
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+
+    BatchProgressListener NONE = (completed, failed, total) -> {
+    };
+
+    void onProgress(int completed, int failed, int total);
+}
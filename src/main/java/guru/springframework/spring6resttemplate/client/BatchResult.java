@@ -0,0 +1,28 @@
+package guru.springframework.spring6resttemplate.client;
+
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch write, in the order the items were submitted.
+ */
+public record BatchResult<T>(List<Item<T>> items) {
+
+    public List<T> succeeded() {
+        return items.stream().filter(Item::isSuccess).map(Item::value).toList();
+    }
+
+    public List<Item<T>> failed() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    public boolean hasFailures() {
+        return items.stream().anyMatch(item -> !item.isSuccess());
+    }
+
+    public record Item<T>(int index, T value, Throwable error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
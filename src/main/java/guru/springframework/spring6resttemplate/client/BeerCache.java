@@ -0,0 +1,175 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of beers by id for {@link BeerClientImpl#getBeerById}. Entries live for {@code ttl};
+ * once stale they are kept with their ETag/Last-Modified so the next read can revalidate conditionally.
+ * Writes leave a version floor behind so a slow read that started before the write cannot put the old
+ * representation back. Disabled unless {@code rest.template.cache.enabled=true}.
+ */
+@Component
+public class BeerCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    public BeerCache(@Value("${rest.template.cache.enabled:false}") boolean enabled,
+                     @Value("${rest.template.cache.max-size:1000}") int maxSize,
+                     @Value("${rest.template.cache.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > BeerCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static BeerCache disabled() {
+        return new BeerCache(false, 0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the entry for the beer, fresh or stale, or {@code null} when there is nothing usable
+     */
+    Entry lookup(UUID beerId) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(beerId);
+
+            if (entry == null || entry.beer() == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isFresh(System.nanoTime())) {
+                hits.increment();
+            } else if (!entry.canRevalidate()) {
+                entries.remove(beerId);
+                evictions.increment();
+                misses.increment();
+                return null;
+            } else {
+                misses.increment();
+            }
+            return entry;
+        }
+    }
+
+    void put(BeerDTO beer, String eTag, String lastModified) {
+        if (!enabled || beer == null || beer.getId() == null) {
+            return;
+        }
+        synchronized (entries) {
+            Entry current = entries.get(beer.getId());
+
+            if (current != null && current.rejects(beer.getVersion())) {
+                return;
+            }
+            entries.put(beer.getId(), new Entry(beer.toBuilder().build(), eTag, lastModified,
+                    System.nanoTime() + ttlNanos, beer.getVersion()));
+        }
+    }
+
+    /**
+     * The server confirmed the cached representation with a 304; keep it for another ttl.
+     */
+    BeerDTO revalidated(Entry entry) {
+        revalidations.increment();
+        synchronized (entries) {
+            BeerDTO beer = entry.beer();
+            if (entries.get(beer.getId()) == entry) {
+                entries.put(beer.getId(), new Entry(beer, entry.eTag(), entry.lastModified(),
+                        System.nanoTime() + ttlNanos, entry.version()));
+            }
+            return beer.toBuilder().build();
+        }
+    }
+
+    /**
+     * Drops the cached beer and refuses reads at or below {@code writtenVersion} until the floor expires.
+     */
+    void invalidate(UUID beerId, Integer writtenVersion) {
+        if (!enabled || beerId == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(beerId, new Entry(null, null, null, System.nanoTime() + ttlNanos, writtenVersion));
+        }
+    }
+
+    void invalidateDeleted(UUID beerId) {
+        invalidate(beerId, Integer.MAX_VALUE);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), revalidations.sum(), entries.size());
+        }
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, long revalidations, int size) {
+    }
+
+    record Entry(BeerDTO beer, String eTag, String lastModified, long expiresAtNanos, Integer version) {
+
+        boolean isFresh(long now) {
+            return now - expiresAtNanos < 0;
+        }
+
+        boolean canRevalidate() {
+            return eTag != null || lastModified != null;
+        }
+
+        BeerDTO copy() {
+            return beer.toBuilder().build();
+        }
+
+        /**
+         * Live entries only accept the same or a newer version; write floors (no beer) also reject the
+         * version that was written, since that is what a read racing the write would bring back.
+         */
+        boolean rejects(Integer incomingVersion) {
+            if (version == null || incomingVersion == null) {
+                return false;
+            }
+            if (beer == null) {
+                return isFresh(System.nanoTime()) && incomingVersion <= version;
+            }
+            return incomingVersion < version;
+        }
+    }
+}
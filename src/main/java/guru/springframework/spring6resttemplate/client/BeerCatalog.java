@@ -0,0 +1,484 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, column-oriented snapshot of the beer catalog that answers {@code listBeers} queries locally.
+ * <p>
+ * Each field is one array indexed by row: ids as two longs, style as its ordinal in a byte, quantity as an
+ * int, price as a long in cents and dates as epoch nanoseconds (UTC), with sentinels for {@code null}. Names
+ * are concatenated into one string, plus a lower-cased copy that substring searches run over in a single
+ * {@link String#indexOf} pass. Rows are sorted by lower-cased name, which is the order the beer service pages
+ * in and makes every name prefix a contiguous range. Each style has a {@link BitSet} of its rows, and a second
+ * ordering by id serves {@link #find}. Changes never touch a published snapshot: {@link #with} merges them
+ * into a new one.
+ * <p>
+ * Queries follow the service: {@code beerName} is a case-insensitive substring match, {@code pageNumber} is
+ * 1-based, {@code pageSize} defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at {@value #MAX_PAGE_SIZE},
+ * and {@code showInventory=false} blanks {@code quantityOnHand}.
+ */
+public final class BeerCatalog {
+
+    static final int DEFAULT_PAGE_SIZE = 25;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int PRICE_SCALE = 2;
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final byte NULL_STYLE = -1;
+    static final char NAME_SEPARATOR = '\0';
+
+    private static final BeerStyle[] STYLES = BeerStyle.values();
+    private static final Comparator<BeerDTO> NAME_ORDER = Comparator
+            .comparing((BeerDTO beer) -> fold(beer.getBeerName()))
+            .thenComparing(BeerDTO::getId);
+    private static final BeerCatalog EMPTY = new Columns(0).build();
+
+    final int size;
+    final long[] idHigh;
+    final long[] idLow;
+    final int[] versions;
+    final String nameData;
+    final int[] nameOffsets;
+    final BitSet nullNames;
+    final byte[] styles;
+    final String[] upcs;
+    final int[] quantities;
+    final long[] prices;
+    final long[] createdDates;
+    final long[] updateDates;
+
+    private final String foldedNames;
+    private final int[] rowsById;
+    private final Map<BeerStyle, BitSet> rowsByStyle;
+
+    private BeerCatalog(Columns columns) {
+        this.size = columns.size;
+        this.idHigh = columns.idHigh;
+        this.idLow = columns.idLow;
+        this.versions = columns.versions;
+        this.styles = columns.styles;
+        this.upcs = columns.upcs;
+        this.quantities = columns.quantities;
+        this.prices = columns.prices;
+        this.createdDates = columns.createdDates;
+        this.updateDates = columns.updateDates;
+
+        this.nameOffsets = new int[size + 1];
+        this.nullNames = new BitSet();
+        StringBuilder names = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            nameOffsets[row] = names.length();
+            if (columns.names[row] == null) {
+                nullNames.set(row);
+            } else {
+                names.append(columns.names[row]);
+            }
+            names.append(NAME_SEPARATOR);
+        }
+        nameOffsets[size] = names.length();
+        this.nameData = names.toString();
+        this.foldedNames = fold(nameData);
+
+        this.rowsById = sortedById(size, idHigh, idLow);
+        this.rowsByStyle = new EnumMap<>(BeerStyle.class);
+        for (int row = 0; row < size; row++) {
+            if (styles[row] != NULL_STYLE) {
+                rowsByStyle.computeIfAbsent(STYLES[styles[row]], style -> new BitSet(size)).set(row);
+            }
+        }
+    }
+
+    public static BeerCatalog empty() {
+        return EMPTY;
+    }
+
+    public static BeerCatalog of(Collection<BeerDTO> beers) {
+        return empty().with(beers, List.of());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the beer, or {@code null} if it is not in this snapshot
+     */
+    public BeerDTO find(UUID beerId) {
+        int row = rowOf(beerId);
+        return row < 0 ? null : beer(row, true);
+    }
+
+    /**
+     * @return the version of the beer in this snapshot, or {@code null} if it is absent or unversioned
+     */
+    public Integer version(UUID beerId) {
+        int row = rowOf(beerId);
+        return row < 0 || versions[row] == NULL_INT ? null : versions[row];
+    }
+
+    public boolean contains(UUID beerId) {
+        return rowOf(beerId) >= 0;
+    }
+
+    public Page<BeerDTO> listBeers(String beerName,
+                                   BeerStyle beerStyle,
+                                   Boolean showInventory,
+                                   Integer pageNumber,
+                                   Integer pageSize) {
+
+        BitSet rows = beerStyle == null ? null : rowsByStyle.getOrDefault(beerStyle, new BitSet());
+        if (beerName != null) {
+            BitSet named = containing(beerName);
+            if (rows != null) {
+                named.and(rows);
+            }
+            rows = named;
+        }
+        return page(rows, showInventory, pageNumber, pageSize);
+    }
+
+    /**
+     * Like {@link #listBeers} but matching names that start with {@code prefix} (ignoring case), which is a
+     * binary search rather than a scan.
+     */
+    public Page<BeerDTO> listBeersByNamePrefix(String prefix,
+                                               BeerStyle beerStyle,
+                                               Boolean showInventory,
+                                               Integer pageNumber,
+                                               Integer pageSize) {
+
+        String folded = fold(prefix);
+        int from = firstRowNotBefore(folded);
+        int to = from;
+        while (to < size && foldedNames.startsWith(folded, nameOffsets[to])) {
+            to++;
+        }
+        BitSet rows = new BitSet(to);
+        rows.set(from, to);
+        if (beerStyle != null) {
+            rows.and(rowsByStyle.getOrDefault(beerStyle, new BitSet()));
+        }
+        return page(rows, showInventory, pageNumber, pageSize);
+    }
+
+    /**
+     * A new snapshot with {@code changed} beers added or replaced and {@code deleted} ids removed; this one is
+     * left as it is. One merge pass over both, the changed beers being sorted first. If an id appears more
+     * than once in {@code changed} the last one wins.
+     */
+    public BeerCatalog with(Collection<BeerDTO> changed, Collection<UUID> deleted) {
+        if (changed.isEmpty() && deleted.isEmpty()) {
+            return this;
+        }
+        Map<UUID, BeerDTO> latest = new LinkedHashMap<>();
+        changed.forEach(beer -> latest.put(beer.getId(), beer));
+        Set<UUID> dropped = new HashSet<>(deleted);
+        dropped.addAll(latest.keySet());
+
+        List<BeerDTO> incoming = new ArrayList<>(latest.values());
+        incoming.sort(NAME_ORDER);
+
+        Columns columns = new Columns(size + incoming.size());
+        int row = 0;
+        int next = 0;
+        while (row < size || next < incoming.size()) {
+            if (row < size && dropped.contains(new UUID(idHigh[row], idLow[row]))) {
+                row++;
+            } else if (next >= incoming.size() || row < size && compareRow(row, incoming.get(next)) <= 0) {
+                columns.copy(this, row++);
+            } else {
+                columns.add(incoming.get(next++));
+            }
+        }
+        return columns.build();
+    }
+
+    /**
+     * @param rows matching rows in name order, {@code null} for all of them
+     */
+    private Page<BeerDTO> page(BitSet rows, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        int page = pageNumber != null && pageNumber > 0 ? pageNumber - 1 : 0;
+        int limit = pageSize == null ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        boolean inventory = showInventory == null || showInventory;
+        long skip = (long) page * limit;
+
+        List<BeerDTO> content = new ArrayList<>();
+        long total;
+        if (rows == null) {
+            total = size;
+            for (long row = skip; row < size && content.size() < limit; row++) {
+                content.add(beer((int) row, inventory));
+            }
+        } else {
+            total = rows.cardinality();
+            int row = rows.nextSetBit(0);
+            for (long skipped = 0; row >= 0 && skipped < skip; skipped++) {
+                row = rows.nextSetBit(row + 1);
+            }
+            for (; row >= 0 && content.size() < limit; row = rows.nextSetBit(row + 1)) {
+                content.add(beer(row, inventory));
+            }
+        }
+        return new BeerDTOPageImpl(content, PageRequest.of(page, limit), total);
+    }
+
+    private BitSet containing(String beerName) {
+        BitSet rows = new BitSet(size);
+        String folded = fold(beerName);
+        if (folded.indexOf(NAME_SEPARATOR) >= 0) {
+            return rows;
+        }
+        int at = foldedNames.indexOf(folded);
+        while (at >= 0) {
+            int row = rowAt(at);
+            if (!nullNames.get(row)) {
+                rows.set(row);
+            }
+            at = row + 1 < size ? foldedNames.indexOf(folded, nameOffsets[row + 1]) : -1;
+        }
+        return rows;
+    }
+
+    /**
+     * @return the row whose name covers position {@code at} of the name data
+     */
+    private int rowAt(int at) {
+        int row = Arrays.binarySearch(nameOffsets, at);
+        return row >= 0 ? row : -row - 2;
+    }
+
+    private int firstRowNotBefore(String folded) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareFoldedName(mid, folded) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareRow(int row, BeerDTO beer) {
+        int cmp = compareFoldedName(row, fold(beer.getBeerName()));
+        if (cmp != 0) {
+            return cmp;
+        }
+        return compareIds(idHigh[row], idLow[row], beer.getId().getMostSignificantBits(),
+                beer.getId().getLeastSignificantBits());
+    }
+
+    /**
+     * {@link String#compareTo} of the row's lower-cased name against {@code folded}, without copying it out.
+     */
+    private int compareFoldedName(int row, String folded) {
+        int start = nameOffsets[row];
+        int length = nameOffsets[row + 1] - 1 - start;
+        int common = Math.min(length, folded.length());
+        for (int i = 0; i < common; i++) {
+            char a = foldedNames.charAt(start + i);
+            char b = folded.charAt(i);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return length - folded.length();
+    }
+
+    private int rowOf(UUID beerId) {
+        long high = beerId.getMostSignificantBits();
+        long low = beerId.getLeastSignificantBits();
+        int from = 0;
+        int to = size - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int row = rowsById[mid];
+            int cmp = compareIds(idHigh[row], idLow[row], high, low);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    String name(int row) {
+        return nullNames.get(row) ? null : nameData.substring(nameOffsets[row], nameOffsets[row + 1] - 1);
+    }
+
+    BeerDTO beer(int row, boolean showInventory) {
+        return BeerDTO.builder()
+                .id(new UUID(idHigh[row], idLow[row]))
+                .version(versions[row] == NULL_INT ? null : versions[row])
+                .beerName(name(row))
+                .beerStyle(styles[row] == NULL_STYLE ? null : STYLES[styles[row]])
+                .upc(upcs[row])
+                .quantityOnHand(!showInventory || quantities[row] == NULL_INT ? null : quantities[row])
+                .price(prices[row] == NULL_LONG ? null : BigDecimal.valueOf(prices[row], PRICE_SCALE))
+                .createdDate(toDateTime(createdDates[row]))
+                .updateDate(toDateTime(updateDates[row]))
+                .build();
+    }
+
+    private static int[] sortedById(int size, long[] idHigh, long[] idLow) {
+        Integer[] rows = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        Arrays.sort(rows, (a, b) -> compareIds(idHigh[a], idLow[a], idHigh[b], idLow[b]));
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = rows[i];
+        }
+        return sorted;
+    }
+
+    private static int compareIds(long highA, long lowA, long highB, long lowB) {
+        int cmp = Long.compare(highA, highB);
+        return cmp != 0 ? cmp : Long.compare(lowA, lowB);
+    }
+
+    /**
+     * Lower-cases char by char, so offsets into a name stay valid in its folded copy.
+     */
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    static long toNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NULL_LONG;
+        }
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L),
+                dateTime.getNano());
+    }
+
+    static LocalDateTime toDateTime(long nanos) {
+        if (nanos == NULL_LONG) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /**
+     * Prices are kept in cents; anything finer is rounded half-up.
+     */
+    static long toCents(BigDecimal price) {
+        return price == null ? NULL_LONG
+                : price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Column builder; rows must be added in name order.
+     */
+    static final class Columns {
+
+        int size;
+        final long[] idHigh;
+        final long[] idLow;
+        final int[] versions;
+        final String[] names;
+        final byte[] styles;
+        final String[] upcs;
+        final int[] quantities;
+        final long[] prices;
+        final long[] createdDates;
+        final long[] updateDates;
+
+        Columns(int capacity) {
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            versions = new int[capacity];
+            names = new String[capacity];
+            styles = new byte[capacity];
+            upcs = new String[capacity];
+            quantities = new int[capacity];
+            prices = new long[capacity];
+            createdDates = new long[capacity];
+            updateDates = new long[capacity];
+        }
+
+        void add(BeerDTO beer) {
+            int row = size++;
+            idHigh[row] = beer.getId().getMostSignificantBits();
+            idLow[row] = beer.getId().getLeastSignificantBits();
+            versions[row] = beer.getVersion() == null ? NULL_INT : beer.getVersion();
+            names[row] = beer.getBeerName();
+            styles[row] = beer.getBeerStyle() == null ? NULL_STYLE : (byte) beer.getBeerStyle().ordinal();
+            upcs[row] = beer.getUpc();
+            quantities[row] = beer.getQuantityOnHand() == null ? NULL_INT : beer.getQuantityOnHand();
+            prices[row] = toCents(beer.getPrice());
+            createdDates[row] = toNanos(beer.getCreatedDate());
+            updateDates[row] = toNanos(beer.getUpdateDate());
+        }
+
+        void copy(BeerCatalog from, int fromRow) {
+            int row = size++;
+            idHigh[row] = from.idHigh[fromRow];
+            idLow[row] = from.idLow[fromRow];
+            versions[row] = from.versions[fromRow];
+            names[row] = from.name(fromRow);
+            styles[row] = from.styles[fromRow];
+            upcs[row] = from.upcs[fromRow];
+            quantities[row] = from.quantities[fromRow];
+            prices[row] = from.prices[fromRow];
+            createdDates[row] = from.createdDates[fromRow];
+            updateDates[row] = from.updateDates[fromRow];
+        }
+
+        BeerCatalog build() {
+            return new BeerCatalog(size == idHigh.length ? this : trimmed());
+        }
+
+        private Columns trimmed() {
+            Columns trimmed = new Columns(size);
+            System.arraycopy(idHigh, 0, trimmed.idHigh, 0, size);
+            System.arraycopy(idLow, 0, trimmed.idLow, 0, size);
+            System.arraycopy(versions, 0, trimmed.versions, 0, size);
+            System.arraycopy(names, 0, trimmed.names, 0, size);
+            System.arraycopy(styles, 0, trimmed.styles, 0, size);
+            System.arraycopy(upcs, 0, trimmed.upcs, 0, size);
+            System.arraycopy(quantities, 0, trimmed.quantities, 0, size);
+            System.arraycopy(prices, 0, trimmed.prices, 0, size);
+            System.arraycopy(createdDates, 0, trimmed.createdDates, 0, size);
+            System.arraycopy(updateDates, 0, trimmed.updateDates, 0, size);
+            trimmed.size = size;
+            return trimmed;
+        }
+    }
+}
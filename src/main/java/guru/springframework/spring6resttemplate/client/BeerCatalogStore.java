@@ -0,0 +1,225 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps the last synced {@link BeerCatalog} and its watermark in a file, so that after a restart the mirror
+ * can serve straight away and catch up with a delta sync instead of a full crawl.
+ * <p>
+ * The file is big-endian: a header ({@link #MAGIC}, {@link #SCHEMA_VERSION}, save time, watermark, row
+ * count), then each column in turn (strings as length-prefixed UTF-8, -1 for {@code null}), then a CRC32 of
+ * everything before it. It is written to a temporary file, forced to disk and moved over the old one, so a
+ * reader sees either the previous snapshot or the new one. It is read back through a memory mapping. A file
+ * with the wrong magic, another schema version or a bad checksum is ignored, and the next sync is a full one.
+ * Disabled unless {@code rest.template.sync.snapshot-file} is set.
+ */
+@Slf4j
+@Component
+public class BeerCatalogStore {
+
+    static final int MAGIC = 0x42434154; // "BCAT"
+    static final short SCHEMA_VERSION = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final Path file;
+
+    public BeerCatalogStore(@Value("${rest.template.sync.snapshot-file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    public static BeerCatalogStore disabled() {
+        return new BeerCatalogStore("");
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public void save(BeerCatalog catalog, SyncWatermark watermark) throws IOException {
+        if (file == null) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+                CRC32 crc = new CRC32();
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(fileOut, crc), 64 * 1024));
+                write(out, catalog, watermark);
+                out.flush();
+                out.writeInt((int) crc.getValue());
+                out.flush();
+                fileOut.getChannel().force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return the stored snapshot, or empty if there is none or it can't be used
+     */
+    public Optional<Snapshot> load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(read(buffer));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring beer catalog snapshot {}: {}", file, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static void write(DataOutputStream out, BeerCatalog catalog, SyncWatermark watermark) throws IOException {
+        int size = catalog.size;
+        out.writeInt(MAGIC);
+        out.writeShort(SCHEMA_VERSION);
+        out.writeLong(Instant.now().toEpochMilli());
+        out.writeBoolean(watermark != null);
+        if (watermark != null) {
+            out.writeLong(BeerCatalog.toNanos(watermark.updateDate()));
+            out.writeBoolean(watermark.id() != null);
+            if (watermark.id() != null) {
+                out.writeLong(watermark.id().getMostSignificantBits());
+                out.writeLong(watermark.id().getLeastSignificantBits());
+            }
+        }
+        out.writeInt(size);
+
+        for (int row = 0; row < size; row++) {
+            out.writeLong(catalog.idHigh[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeLong(catalog.idLow[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeInt(catalog.versions[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeInt(catalog.quantities[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeLong(catalog.prices[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeLong(catalog.createdDates[row]);
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeLong(catalog.updateDates[row]);
+        }
+        out.write(catalog.styles, 0, size);
+        for (int row = 0; row < size; row++) {
+            writeString(out, catalog.name(row));
+        }
+        for (int row = 0; row < size; row++) {
+            writeString(out, catalog.upcs[row]);
+        }
+    }
+
+    private static Snapshot read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a beer catalog snapshot");
+        }
+        short version = buffer.getShort(Integer.BYTES);
+        if (version != SCHEMA_VERSION) {
+            throw new IOException("schema version " + version + ", expected " + SCHEMA_VERSION);
+        }
+        int checksumAt = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(checksumAt));
+        if ((int) crc.getValue() != buffer.getInt(checksumAt)) {
+            throw new IOException("checksum mismatch");
+        }
+
+        buffer.position(Integer.BYTES + Short.BYTES);
+        Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+        SyncWatermark watermark = null;
+        if (buffer.get() != 0) {
+            long updateDate = buffer.getLong();
+            UUID id = buffer.get() != 0 ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+            watermark = new SyncWatermark(BeerCatalog.toDateTime(updateDate), id);
+        }
+        int size = buffer.getInt();
+
+        BeerCatalog.Columns columns = new BeerCatalog.Columns(size);
+        readLongs(buffer, columns.idHigh);
+        readLongs(buffer, columns.idLow);
+        readInts(buffer, columns.versions);
+        readInts(buffer, columns.quantities);
+        readLongs(buffer, columns.prices);
+        readLongs(buffer, columns.createdDates);
+        readLongs(buffer, columns.updateDates);
+        buffer.get(columns.styles);
+        for (int row = 0; row < size; row++) {
+            columns.names[row] = readString(buffer);
+        }
+        for (int row = 0; row < size; row++) {
+            columns.upcs[row] = readString(buffer);
+        }
+        if (buffer.position() != checksumAt) {
+            throw new IOException("unexpected length");
+        }
+        columns.size = size;
+        return new Snapshot(columns.build(), watermark, savedAt);
+    }
+
+    private static void readLongs(ByteBuffer buffer, long[] column) {
+        buffer.asLongBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Long.BYTES);
+    }
+
+    private static void readInts(ByteBuffer buffer, int[] column) {
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Integer.BYTES);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public record Snapshot(BeerCatalog catalog, SyncWatermark watermark, Instant savedAt) {
+    }
+}
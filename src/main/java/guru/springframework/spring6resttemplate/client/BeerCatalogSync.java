@@ -0,0 +1,205 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerChanges;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Local mirror of the beer catalog kept up to date from the change feed, so that a sync costs O(changes)
+ * rather than a walk over every page. The mirror is a {@link BeerCatalog}; each page of changes is merged into
+ * a new snapshot that is then published, so readers never see a half-applied page and never wait on a sync.
+ * <p>
+ * The first sync, and any sync after the server answers 410 Gone (it no longer has changes back to our
+ * watermark) or after {@code max-watermark-age} without a successful sync, is a full resync over
+ * {@link BeerClient#streamBeers}. Every other sync pages through {@link BeerClient#getBeerChanges} from the
+ * stored watermark, advancing it page by page. Applying a change is idempotent: a beer is only replaced by one
+ * with the same or a higher version, so replaying part of the feed is harmless.
+ * <p>
+ * With a {@link BeerCatalogStore} enabled, every sync that changed something is saved, and on startup the
+ * saved snapshot is served at once while a sync from its watermark runs in the background.
+ */
+@Slf4j
+@Component
+public class BeerCatalogSync {
+
+    /**
+     * How far a full resync moves the watermark back, on top of the time the scan took, so that beers updated
+     * on pages already read (and some clock skew between server nodes) are picked up by the next delta.
+     */
+    static final Duration RESYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final BeerClient beerClient;
+    private final long maxWatermarkAgeNanos;
+    private final int pageSize;
+    private final BeerCatalogStore store;
+
+    private volatile BeerCatalog catalog = BeerCatalog.empty();
+    private volatile SyncWatermark watermark;
+    private volatile long lastSyncNanos;
+    private volatile boolean restored;
+
+    public BeerCatalogSync(BeerClient beerClient,
+                           @Value("${rest.template.sync.max-watermark-age:7d}") Duration maxWatermarkAge,
+                           @Value("${rest.template.sync.page-size:500}") int pageSize,
+                           BeerCatalogStore store) {
+        this.beerClient = beerClient;
+        this.maxWatermarkAgeNanos = maxWatermarkAge.toNanos();
+        this.pageSize = pageSize;
+        this.store = store;
+        restore();
+    }
+
+    private void restore() {
+        store.load().ifPresent(snapshot -> {
+            catalog = snapshot.catalog();
+            watermark = snapshot.watermark();
+            // age the watermark by the time the snapshot spent on disk
+            Duration age = Duration.between(snapshot.savedAt(), Instant.now());
+            lastSyncNanos = System.nanoTime() - Math.max(0, age.toNanos());
+            restored = true;
+            log.info("Restored {} beers from the catalog snapshot saved at {}", catalog.size(), snapshot.savedAt());
+        });
+    }
+
+    /**
+     * Catches a restored snapshot up with the server without holding up startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileRestored() {
+        if (!restored) {
+            return;
+        }
+        Thread.ofVirtual().name("beer-catalog-reconcile").start(() -> {
+            try {
+                Result result = sync();
+                log.info("Reconciled the restored beer catalog: {}", result);
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile the restored beer catalog, serving the snapshot as is", e);
+            }
+        });
+    }
+
+    /**
+     * Brings the mirror up to date. Not concurrent: a second caller waits for the sync in progress.
+     */
+    public synchronized Result sync() {
+        Result result;
+        if (watermark == null || System.nanoTime() - lastSyncNanos > maxWatermarkAgeNanos) {
+            result = fullResync();
+        } else {
+            try {
+                result = deltaSync();
+            } catch (HttpClientErrorException.Gone e) {
+                log.info("Change feed no longer reaches back to {}, resyncing the whole catalog", watermark);
+                result = fullResync();
+            }
+        }
+        if (result.fullResync() || result.changed() > 0 || result.deleted() > 0) {
+            save();
+        }
+        return result;
+    }
+
+    private void save() {
+        try {
+            store.save(catalog, watermark);
+        } catch (IOException e) {
+            // the mirror is still current in memory; only the next warm start loses out
+            log.warn("Could not save the beer catalog snapshot", e);
+        }
+    }
+
+    private Result deltaSync() {
+        int changed = 0;
+        int deleted = 0;
+        BeerChanges changes;
+        do {
+            changes = beerClient.getBeerChanges(watermark, pageSize);
+            BeerCatalog current = catalog;
+
+            Map<UUID, BeerDTO> newest = new LinkedHashMap<>();
+            for (BeerDTO beer : changes.changed()) {
+                newest.merge(beer.getId(), beer,
+                        (seen, candidate) -> isOlder(candidate, seen.getVersion()) ? seen : candidate);
+            }
+            List<BeerDTO> applied = newest.values().stream()
+                    .filter(beer -> !isOlder(beer, current.version(beer.getId())))
+                    .toList();
+            List<UUID> removed = changes.deleted().stream().filter(current::contains).toList();
+            catalog = current.with(applied, removed);
+            changed += applied.size();
+            deleted += removed.size();
+
+            if (changes.watermark() != null) {
+                watermark = changes.watermark();
+            }
+        } while (changes.hasMore());
+
+        lastSyncNanos = System.nanoTime();
+        return new Result(false, changed, deleted, watermark);
+    }
+
+    private Result fullResync() {
+        long start = System.nanoTime();
+        List<BeerDTO> beers = new ArrayList<>();
+        LocalDateTime latest = null;
+
+        try (Stream<BeerDTO> all = beerClient.streamBeers(null, null, null, pageSize)) {
+            for (BeerDTO beer : (Iterable<BeerDTO>) all::iterator) {
+                beers.add(beer);
+                if (beer.getUpdateDate() != null && (latest == null || beer.getUpdateDate().isAfter(latest))) {
+                    latest = beer.getUpdateDate();
+                }
+            }
+        }
+
+        BeerCatalog previous = catalog;
+        BeerCatalog resynced = BeerCatalog.of(beers);
+        int deleted = previous.size() - (int) beers.stream().map(BeerDTO::getId).filter(previous::contains).count();
+        catalog = resynced;
+
+        Duration scan = Duration.ofNanos(System.nanoTime() - start);
+        watermark = latest == null ? null : new SyncWatermark(latest.minus(scan).minus(RESYNC_OVERLAP), null);
+        lastSyncNanos = System.nanoTime();
+        return new Result(true, resynced.size(), deleted, watermark);
+    }
+
+    private static boolean isOlder(BeerDTO candidate, Integer currentVersion) {
+        return candidate.getVersion() != null && currentVersion != null && candidate.getVersion() < currentVersion;
+    }
+
+    /**
+     * The current snapshot; it does not change, later syncs publish new ones.
+     */
+    public BeerCatalog catalog() {
+        return catalog;
+    }
+
+    public SyncWatermark watermark() {
+        return watermark;
+    }
+
+    /**
+     * @param changed beers written to the mirror (all of them for a full resync)
+     * @param deleted beers removed from the mirror
+     */
+    public record Result(boolean fullResync, int changed, int deleted, SyncWatermark watermark) {
+    }
+}
@@ -1,20 +1,53 @@
 package guru.springframework.spring6resttemplate.client;
 
+import guru.springframework.spring6resttemplate.model.BeerChanges;
 import guru.springframework.spring6resttemplate.model.BeerDTO;
 import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface BeerClient {
     BeerDTO getBeerById(UUID beerId);
 
+    Map<UUID, BeerDTO> getBeersByIds(Collection<UUID> beerIds);
+
+    /**
+     * Fetches the distinct ids in parallel, at most {@code maxConcurrency} at a time. Ids already being
+     * fetched by another caller share that request. Beers that are not found are left out of the map.
+     *
+     * @throws IllegalArgumentException if {@code maxConcurrency} is less than 1
+     */
+    Map<UUID, BeerDTO> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency);
+
     BeerDTO createBeer(BeerDTO beerDTO);
 
     void deleteBeer(UUID beerId);
 
     BeerDTO updateBeer(BeerDTO beerDTO);
 
+    BatchResult<BeerDTO> createBeers(Collection<BeerDTO> beers);
+
+    /**
+     * Creates every beer with at most {@code maxInFlight} requests outstanding. A failing item is recorded
+     * in the result and does not stop the rest of the batch.
+     */
+    BatchResult<BeerDTO> createBeers(Collection<BeerDTO> beers, int maxInFlight, BatchProgressListener listener);
+
+    BatchResult<BeerDTO> updateBeers(Collection<BeerDTO> beers);
+
+    BatchResult<BeerDTO> updateBeers(Collection<BeerDTO> beers, int maxInFlight, BatchProgressListener listener);
+
+    BatchResult<UUID> deleteBeers(Collection<UUID> beerIds);
+
+    BatchResult<UUID> deleteBeers(Collection<UUID> beerIds, int maxInFlight, BatchProgressListener listener);
+
     Page<BeerDTO> listBeers();
 
     Page<BeerDTO> listBeers(String beerName,
@@ -22,4 +55,37 @@ public interface BeerClient {
                             Boolean showInventory,
                             Integer pageNumber,
                             Integer pageSize);
+
+    /**
+     * Parses the page incrementally, handing each beer to {@code consumer} as soon as it is read
+     * instead of building the whole content list first.
+     */
+    PageMetadata listBeers(String beerName,
+                           BeerStyle beerStyle,
+                           Boolean showInventory,
+                           Integer pageNumber,
+                           Integer pageSize,
+                           Consumer<BeerDTO> consumer);
+
+    Stream<BeerDTO> streamBeers(String beerName,
+                                BeerStyle beerStyle,
+                                Boolean showInventory,
+                                Integer pageSize);
+
+    /**
+     * Lazily walks every page matching the filters, fetching up to {@code prefetchPages} pages ahead
+     * of the consumer. Close the stream to cancel outstanding prefetches when stopping early.
+     */
+    Stream<BeerDTO> streamBeers(String beerName,
+                                BeerStyle beerStyle,
+                                Boolean showInventory,
+                                Integer pageSize,
+                                int prefetchPages);
+
+    /**
+     * One page of beers changed or deleted after {@code since} ({@code null} for the whole feed). Throws
+     * {@link org.springframework.web.client.HttpClientErrorException.Gone} when the server no longer keeps
+     * changes that old; see {@link BeerCatalogSync} for keeping a local copy up to date.
+     */
+    BeerChanges getBeerChanges(SyncWatermark since, Integer pageSize);
 }
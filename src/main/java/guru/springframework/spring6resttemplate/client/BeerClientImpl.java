@@ -1,66 +1,280 @@
 package guru.springframework.spring6resttemplate.client;
 
+import guru.springframework.spring6resttemplate.model.BeerChanges;
 import guru.springframework.spring6resttemplate.model.BeerDTO;
-import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
 import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-
+@Slf4j
 @RequiredArgsConstructor
 @Service
-public class BeerClientImpl implements BeerClient {
+public class BeerClientImpl implements BeerClient, DisposableBean {
+
+    private final RestTemplate restTemplate;
+    private final BeerPageStreamReader pageStreamReader;
+    private final PageReader<BeerDTO> pageReader;
+    private final BeerRequestUris uris;
+    private final BeerCache beerCache;
+    private final BeerQueryCache queryCache;
+    private final BeerClientMetrics metrics;
+    private final HedgedRequests hedgedRequests;
+
+    @Value("${rest.template.write-mode:RESPONSE}")
+    private final BeerWriteMode writeMode;
 
-    private final RestTemplateBuilder restTemplateBuilder;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final InFlightRequests<UUID, BeerDTO> inFlightGets = new InFlightRequests<>();
 
     public static final String GET_BEER_PATH = "/api/v1/beer";
     public static final String GET_BEER_BY_ID_PATH = "/api/v1/beer/{beerId}";
+    public static final String GET_BEER_CHANGES_PATH = "/api/v1/beer/changes";
+
+    static final int DEFAULT_PREFETCH_PAGES = 2;
+    static final int DEFAULT_BULK_CONCURRENCY = 16;
+    static final int DEFAULT_BATCH_IN_FLIGHT = 16;
 
     @Override
     public void deleteBeer(UUID beerId) {
-        RestTemplate restTemplate = restTemplateBuilder.build();
+        metrics.record("deleteBeer", GET_BEER_BY_ID_PATH, () -> {
+            restTemplate.delete(uris.beer(beerId));
 
-        restTemplate.delete(GET_BEER_BY_ID_PATH, beerId);
+            beerCache.invalidateDeleted(beerId);
+            queryCache.invalidate(beerId, null);
+        });
     }
 
     @Override
     public BeerDTO updateBeer(BeerDTO beerDTO) {
-        RestTemplate restTemplate = restTemplateBuilder.build();
+        return metrics.record("updateBeer", GET_BEER_BY_ID_PATH, () -> putBeer(beerDTO));
+    }
+
+    private BeerDTO putBeer(BeerDTO beerDTO) {
+        ResponseEntity<BeerDTO> response = restTemplate.exchange(uris.beer(beerDTO.getId()), HttpMethod.PUT,
+                new HttpEntity<>(beerDTO), BeerDTO.class);
 
-        restTemplate.put(GET_BEER_BY_ID_PATH, beerDTO, beerDTO.getId());
+        beerCache.invalidate(beerDTO.getId(), beerDTO.getVersion());
+        queryCache.invalidate(beerDTO.getId(), beerDTO.getBeerStyle());
 
-        return getBeerById(beerDTO.getId());
+        if (writeMode == BeerWriteMode.READ_AFTER_WRITE) {
+            return getBeerById(beerDTO.getId());
+        }
+        return writtenBeer(beerDTO, beerDTO.getId(), response);
     }
 
     @Override
     public BeerDTO createBeer(BeerDTO beerDTO) {
+        return metrics.record("createBeer", GET_BEER_PATH, () -> postBeer(beerDTO));
+    }
+
+    private BeerDTO postBeer(BeerDTO beerDTO) {
+        ResponseEntity<BeerDTO> response = restTemplate.postForEntity(uris.beers(), beerDTO, BeerDTO.class);
+        URI uri = response.getHeaders().getLocation();
+        UUID beerId = idFromLocation(uri, beerDTO.getId());
+
+        queryCache.invalidate(beerId, beerDTO.getBeerStyle());
+
+        if (writeMode == BeerWriteMode.READ_AFTER_WRITE) {
+            return restTemplate.getForObject(uri.getPath(), BeerDTO.class);
+        }
+        return writtenBeer(beerDTO, beerId, response);
+    }
 
-        RestTemplate restTemplate = restTemplateBuilder.build();
+    @Override
+    public BatchResult<BeerDTO> createBeers(Collection<BeerDTO> beers) {
+        return createBeers(beers, DEFAULT_BATCH_IN_FLIGHT, BatchProgressListener.NONE);
+    }
 
+    @Override
+    public BatchResult<BeerDTO> createBeers(Collection<BeerDTO> beers, int maxInFlight, BatchProgressListener listener) {
+        return metrics.record("createBeers", GET_BEER_PATH,
+                () -> BatchExecutor.run(beers, this::createBeer, maxInFlight, listener, executor));
+    }
 
-        URI uri = restTemplate.postForLocation(GET_BEER_PATH, beerDTO);
+    @Override
+    public BatchResult<BeerDTO> updateBeers(Collection<BeerDTO> beers) {
+        return updateBeers(beers, DEFAULT_BATCH_IN_FLIGHT, BatchProgressListener.NONE);
+    }
 
+    @Override
+    public BatchResult<BeerDTO> updateBeers(Collection<BeerDTO> beers, int maxInFlight, BatchProgressListener listener) {
+        return metrics.record("updateBeers", GET_BEER_BY_ID_PATH,
+                () -> BatchExecutor.run(beers, this::updateBeer, maxInFlight, listener, executor));
+    }
 
-        return restTemplate.getForObject(uri.getPath(), BeerDTO.class);
+    @Override
+    public BatchResult<UUID> deleteBeers(Collection<UUID> beerIds) {
+        return deleteBeers(beerIds, DEFAULT_BATCH_IN_FLIGHT, BatchProgressListener.NONE);
+    }
+
+    @Override
+    public BatchResult<UUID> deleteBeers(Collection<UUID> beerIds, int maxInFlight, BatchProgressListener listener) {
+        return metrics.record("deleteBeers", GET_BEER_BY_ID_PATH, () -> BatchExecutor.run(beerIds, beerId -> {
+            deleteBeer(beerId);
+            return beerId;
+        }, maxInFlight, listener, executor));
+    }
+
+    static BeerDTO writtenBeer(BeerDTO submitted, UUID beerId, ResponseEntity<BeerDTO> response) {
+        if (response.getBody() != null) {
+            return response.getBody();
+        }
+
+        BeerDTO.BeerDTOBuilder written = submitted.toBuilder().id(beerId);
+        Integer version = versionFromETag(response.getHeaders().getETag());
+        if (version != null) {
+            written.version(version);
+        }
+        return written.build();
+    }
+
+    static UUID idFromLocation(URI location, UUID fallback) {
+        if (location == null || location.getPath() == null) {
+            return fallback;
+        }
+        String path = location.getPath();
+        try {
+            return UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Only numeric ETags (e.g. {@code W/"3"}) are taken as the entity version; hash ETags are ignored.
+     */
+    private static Integer versionFromETag(String eTag) {
+        if (eTag == null) {
+            return null;
+        }
+        String value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        value = value.replace("\"", "");
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     @Override
     public BeerDTO getBeerById(UUID beerId) {
-        RestTemplate restTemplate = restTemplateBuilder.build();
+        return metrics.record("getBeerById", GET_BEER_BY_ID_PATH, () -> fetchBeerById(beerId));
+    }
+
+    private BeerDTO fetchBeerById(UUID beerId) {
+
+        if (!beerCache.isEnabled()) {
+            URI uri = uris.beer(beerId);
+            BeerDTO response = hedgedRequests.execute("getBeerById", () -> restTemplate
+                    .getForObject(uri, BeerDTO.class));
+
+            return response;
+        }
+
+        BeerCache.Entry cached = beerCache.lookup(beerId);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            return cached.copy();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null && cached.eTag() != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+
+        URI uri = uris.beer(beerId);
+        ResponseEntity<BeerDTO> response = hedgedRequests.execute("getBeerById", () -> restTemplate.exchange(
+                uri, HttpMethod.GET, new HttpEntity<>(headers), BeerDTO.class));
+
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return beerCache.revalidated(cached);
+        }
+
+        beerCache.put(response.getBody(), response.getHeaders().getETag(),
+                response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+        return response.getBody();
+    }
+
+    @Override
+    public Map<UUID, BeerDTO> getBeersByIds(Collection<UUID> beerIds) {
+
+        return getBeersByIds(beerIds, DEFAULT_BULK_CONCURRENCY);
+    }
+
+    @Override
+    public Map<UUID, BeerDTO> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        return metrics.record("getBeersByIds", GET_BEER_BY_ID_PATH, () -> fanOutGets(beerIds, maxConcurrency));
+    }
 
+    private Map<UUID, BeerDTO> fanOutGets(Collection<UUID> beerIds, int maxConcurrency) {
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<UUID, CompletableFuture<BeerDTO>> calls = new LinkedHashMap<>();
+
+        for (UUID beerId : new LinkedHashSet<>(beerIds)) {
+            calls.put(beerId, CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return inFlightGets.execute(beerId, () -> findBeerById(beerId));
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
 
-        BeerDTO response = restTemplate
-                .getForObject(GET_BEER_BY_ID_PATH, BeerDTO.class, beerId);
+        Map<UUID, BeerDTO> beers = new LinkedHashMap<>();
+        calls.forEach((beerId, call) -> {
+            BeerDTO beer = InFlightRequests.await(call);
+            if (beer != null) {
+                beers.put(beerId, beer);
+            }
+        });
+        return beers;
+    }
 
-        return response;
+    private BeerDTO findBeerById(UUID beerId) {
+        try {
+            return getBeerById(beerId);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
     }
 
     @Override
@@ -76,32 +290,94 @@ public class BeerClientImpl implements BeerClient {
                                    Integer pageNumber,
                                    Integer pageSize) {
 
-        RestTemplate restTemplate = restTemplateBuilder.build();
+        URI uri = uris.beers(beerName, beerStyle, showInventory, pageNumber, pageSize);
 
-        UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromPath(GET_BEER_PATH);
+        Page<BeerDTO> page = queryCache.isEnabled()
+                ? queryCache.get(BeerQueryCache.Query.of(beerName, beerStyle, showInventory, pageNumber, pageSize),
+                        () -> fetchPage(uri))
+                : fetchPage(uri);
 
-        if (beerName != null) {
-            uriComponentsBuilder.queryParam("beerName", beerName);
-        }
-        if (beerStyle != null) {
-            uriComponentsBuilder.queryParam("beerStyle", beerStyle);
+        if (log.isDebugEnabled() && page != null) {
+            log.debug("Listed beers {}: page {} of {}, {} of {} beers", uri, page.getNumber() + 1,
+                    page.getTotalPages(), page.getNumberOfElements(), page.getTotalElements());
         }
-        if (showInventory != null) {
-            uriComponentsBuilder.queryParam("showInventory", showInventory);
-        }
-        if (pageNumber != null) {
-            uriComponentsBuilder.queryParam("pageNumber", pageNumber);
+        return page;
+    }
+
+    /**
+     * Fetches a page from the service, bypassing the query cache. Only these fetches are timed as
+     * {@code listBeers}, on whichever thread runs them (a background refresh included), so cache hits do not
+     * show up as sub-millisecond calls.
+     */
+    private Page<BeerDTO> fetchPage(URI uri) {
+        return metrics.record("listBeers", GET_BEER_PATH, () -> hedgedRequests.execute("listBeers",
+                () -> restTemplate.execute(uri, HttpMethod.GET, pageReader, pageReader)));
+    }
+
+    @Override
+    public PageMetadata listBeers(String beerName,
+                                  BeerStyle beerStyle,
+                                  Boolean showInventory,
+                                  Integer pageNumber,
+                                  Integer pageSize,
+                                  Consumer<BeerDTO> consumer) {
+
+        URI uri = uris.beers(beerName, beerStyle, showInventory, pageNumber, pageSize);
+
+        return metrics.record("listBeers", GET_BEER_PATH, () -> restTemplate.execute(uri, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> pageStreamReader.read(response.getBody(), consumer)));
+    }
+
+    @Override
+    public Stream<BeerDTO> streamBeers(String beerName,
+                                       BeerStyle beerStyle,
+                                       Boolean showInventory,
+                                       Integer pageSize) {
+
+        return streamBeers(beerName, beerStyle, showInventory, pageSize, DEFAULT_PREFETCH_PAGES);
+    }
+
+    @Override
+    public Stream<BeerDTO> streamBeers(String beerName,
+                                       BeerStyle beerStyle,
+                                       Boolean showInventory,
+                                       Integer pageSize,
+                                       int prefetchPages) {
+
+        // straight from the service: a scan stitched from pages cached at different times can skip beers,
+        // which BeerCatalogSync's full resync would then take as deleted
+        PrefetchingPageIterator<BeerDTO> pages = new PrefetchingPageIterator<>(
+                pageNumber -> fetchPage(uris.beers(beerName, beerStyle, showInventory, pageNumber, pageSize)),
+                executor, prefetchPages);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::close);
+    }
+
+    @Override
+    public BeerChanges getBeerChanges(SyncWatermark since, Integer pageSize) {
+
+        UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromPath(GET_BEER_CHANGES_PATH);
+
+        if (since != null) {
+            uriComponentsBuilder.queryParam("updatedSince", since.updateDate());
+            if (since.id() != null) {
+                uriComponentsBuilder.queryParam("afterId", since.id());
+            }
         }
         if (pageSize != null) {
             uriComponentsBuilder.queryParam("pageSize", pageSize);
         }
+        String uri = uriComponentsBuilder.toUriString();
 
+        return metrics.record("getBeerChanges", GET_BEER_CHANGES_PATH,
+                () -> restTemplate.getForObject(uri, BeerChanges.class));
+    }
 
-        ResponseEntity<BeerDTOPageImpl> response = restTemplate
-                .getForEntity(uriComponentsBuilder.toUriString(), BeerDTOPageImpl.class);
-
-        System.out.println(uriComponentsBuilder.toUriString());
-        System.out.println(response);
-        return response.getBody();
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
     }
 }
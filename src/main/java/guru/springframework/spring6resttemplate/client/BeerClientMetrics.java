@@ -0,0 +1,258 @@
+package guru.springframework.spring6resttemplate.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Client-side metrics for {@link BeerClientImpl}:
+ * <ul>
+ *     <li>{@code beer.client.requests}: one timer per operation, tagged with the URI template, the status of
+ *     the last HTTP exchange the operation made, outcome and exception</li>
+ *     <li>{@code beer.client.request.size} / {@code beer.client.response.size}: body bytes per exchange</li>
+ * </ul>
+ * It is also a RestTemplate interceptor, which is how the real status and body size of each exchange reach the
+ * operation running on the calling thread. It sits just outside the {@code ResilienceInterceptor}, so an
+ * exchange here is one logical call: retries are not seen, and the status and response size are those of the
+ * last attempt. Percentile histograms are switched on with the usual {@code management.metrics.distribution.*}
+ * properties.
+ */
+@Slf4j
+@Component
+public class BeerClientMetrics implements ClientHttpRequestInterceptor {
+
+    static final String NO_STATUS = "NONE";
+    static final String NO_URI = "none";
+
+    private final MeterProvider<Timer> requests;
+    private final MeterProvider<DistributionSummary> requestSize;
+    private final MeterProvider<DistributionSummary> responseSize;
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    public BeerClientMetrics(MeterRegistry meterRegistry) {
+        this.requests = Timer.builder("beer.client.requests")
+                .description("BeerClient operations")
+                .withRegistry(meterRegistry);
+        this.requestSize = DistributionSummary.builder("beer.client.request.size")
+                .description("Request body size of beer API exchanges")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.responseSize = DistributionSummary.builder("beer.client.response.size")
+                .description("Response body size of beer API exchanges")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+    }
+
+    <T> T record(String operation, String uriTemplate, Supplier<T> call) {
+        Call previous = currentCall.get();
+        Call current = new Call(uriTemplate);
+        currentCall.set(current);
+
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            requests.withTags("operation", operation,
+                            "uri", uriTemplate,
+                            "status", status(current.status, failure),
+                            "outcome", outcome(current.status, failure),
+                            "exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (previous == null) {
+                currentCall.remove();
+            } else {
+                currentCall.set(previous);
+            }
+        }
+    }
+
+    void record(String operation, String uriTemplate, Runnable call) {
+        record(operation, uriTemplate, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Makes {@code call} report its exchanges to the operation running on this thread when it is run on
+     * another one.
+     */
+    <T> Supplier<T> propagate(Supplier<T> call) {
+        Call operation = currentCall.get();
+        if (operation == null) {
+            return call;
+        }
+        return () -> {
+            Call previous = currentCall.get();
+            currentCall.set(operation);
+            try {
+                return call.get();
+            } finally {
+                if (previous == null) {
+                    currentCall.remove();
+                } else {
+                    currentCall.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Call call = currentCall.get();
+        String uri = call == null ? NO_URI : call.uriTemplate;
+        String method = request.getMethod().name();
+
+        if (body.length > 0) {
+            requestSize.withTags("method", method, "uri", uri).record(body.length);
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("{} {} failed after {} ms: {}", method, request.getURI(), elapsedMillis(start), e.toString());
+            }
+            throw e;
+        }
+
+        HttpStatusCode status = response.getStatusCode();
+        if (call != null) {
+            call.status = status.value();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{} {} -> {} in {} ms", method, request.getURI(), status.value(), elapsedMillis(start));
+        }
+        return new CountingResponse(response, responseSize.withTags("method", method, "uri", uri));
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static String status(int status, RuntimeException failure) {
+        if (status > 0) {
+            return String.valueOf(status);
+        }
+        if (failure instanceof ResourceAccessException) {
+            return "IO_ERROR";
+        }
+        return failure == null ? NO_STATUS : "CLIENT_ERROR";
+    }
+
+    private static String outcome(int status, RuntimeException failure) {
+        if (failure == null) {
+            return "SUCCESS";
+        }
+        if (status >= 400 && status < 500) {
+            return "CLIENT_ERROR";
+        }
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return "UNKNOWN";
+    }
+
+    /**
+     * Operation in progress on the current thread; {@code status} is that of its most recent exchange.
+     */
+    private static final class Call {
+
+        final String uriTemplate;
+        volatile int status;
+
+        Call(String uriTemplate) {
+            this.uriTemplate = uriTemplate;
+        }
+    }
+
+    /**
+     * Counts the body bytes actually read and records them once, when RestTemplate closes the response.
+     */
+    private static final class CountingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final DistributionSummary size;
+        private long bytesRead;
+        private boolean recorded;
+        private InputStream body;
+
+        CountingResponse(ClientHttpResponse delegate, DistributionSummary size) {
+            this.delegate = delegate;
+            this.size = size;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            bytesRead++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            bytesRead += n;
+                        }
+                        return n;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!recorded) {
+                recorded = true;
+                size.record(bytesRead);
+            }
+            delegate.close();
+        }
+    }
+}
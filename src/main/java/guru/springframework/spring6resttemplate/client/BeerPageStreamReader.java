@@ -0,0 +1,76 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Pulls a beer page response apart token by token: each element of {@code content} is bound and
+ * handed to the consumer before the next one is read, so only one {@link BeerDTO} is held at a time.
+ */
+@Component
+public class BeerPageStreamReader {
+
+    private final ObjectReader beerReader;
+
+    public BeerPageStreamReader(ObjectMapper objectMapper) {
+        this.beerReader = objectMapper.readerFor(BeerDTO.class);
+    }
+
+    public PageMetadata read(InputStream body, Consumer<BeerDTO> consumer) throws IOException {
+        try (JsonParser parser = beerReader.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            int number = 0;
+            int size = 0;
+            long totalElements = 0;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "content" -> readContent(parser, value, consumer);
+                    case "number" -> number = parser.getIntValue();
+                    case "size" -> size = parser.getIntValue();
+                    case "totalElements" -> totalElements = parser.getLongValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            return new PageMetadata(number, size, totalElements);
+        }
+    }
+
+    private void readContent(JsonParser parser, JsonToken token, Consumer<BeerDTO> consumer) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser, token, JsonToken.START_ARRAY);
+
+        if (parser.nextToken() != JsonToken.END_ARRAY) {
+            // one iterator (and deserialization context) for the whole array rather than one per element
+            MappingIterator<BeerDTO> beers = beerReader.readValues(parser);
+            while (beers.hasNextValue()) {
+                consumer.accept(beers.nextValue());
+            }
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws MismatchedInputException {
+        if (actual != expected) {
+            throw MismatchedInputException.from(parser, BeerDTO.class,
+                    "Expected " + expected + " in beer page but found " + actual);
+        }
+    }
+}
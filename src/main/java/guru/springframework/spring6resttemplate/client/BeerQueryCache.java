@@ -0,0 +1,236 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of {@link BeerClientImpl#listBeers} pages keyed by the normalized query (see
+ * {@link Query#of}). A page is served as is for {@code ttl}; for {@code stale-while-revalidate} after that it is
+ * still served, while a background refresh fetches the new one. Identical queries that miss at the same time
+ * share one request. Writes drop every page that could show the written beer: unfiltered ones, those of its
+ * style, and any cached page it appears on. A delete whose style is not known from the cache clears
+ * everything. A fetch that overlaps a write is not stored. Disabled unless
+ * {@code rest.template.query-cache.enabled=true}.
+ */
+@Slf4j
+@Component
+public class BeerQueryCache implements DisposableBean {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final Map<Query, Entry> entries;
+
+    private final InFlightRequests<Query, Page<BeerDTO>> inFlight = new InFlightRequests<>();
+    private final Set<Query> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BeerQueryCache(@Value("${rest.template.query-cache.enabled:false}") boolean enabled,
+                          @Value("${rest.template.query-cache.max-size:500}") int maxSize,
+                          @Value("${rest.template.query-cache.ttl:5s}") Duration ttl,
+                          @Value("${rest.template.query-cache.stale-while-revalidate:30s}") Duration staleWhileRevalidate) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Query, Entry> eldest) {
+                if (size() > BeerQueryCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static BeerQueryCache disabled() {
+        return new BeerQueryCache(false, 0, Duration.ZERO, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return a copy of the cached page for {@code query}, or of the page {@code loader} fetched for it
+     */
+    Page<BeerDTO> get(Query query, Supplier<Page<BeerDTO>> loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(query);
+        }
+        long now = System.nanoTime();
+        if (entry != null && entry.isFresh(now)) {
+            hits.increment();
+            return copy(entry.page());
+        }
+        if (entry != null && now - (entry.expiresAtNanos() + staleNanos) < 0) {
+            staleHits.increment();
+            refreshInBackground(query, loader);
+            return copy(entry.page());
+        }
+        misses.increment();
+        return copy(load(query, loader));
+    }
+
+    private Page<BeerDTO> load(Query query, Supplier<Page<BeerDTO>> loader) {
+        return inFlight.execute(query, () -> {
+            long startGeneration = generation.get();
+            Page<BeerDTO> page = loader.get();
+            if (page != null) {
+                synchronized (entries) {
+                    if (generation.get() == startGeneration) {
+                        entries.put(query, new Entry(copy(page), System.nanoTime() + ttlNanos));
+                    }
+                }
+            }
+            return page;
+        });
+    }
+
+    private void refreshInBackground(Query query, Supplier<Page<BeerDTO>> loader) {
+        if (!refreshing.add(query)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                load(query, loader);
+            } catch (RuntimeException e) {
+                // the stale page keeps being served until it runs out; then callers fetch and see the error
+                log.debug("Background refresh of {} failed: {}", query, e.toString());
+            } finally {
+                refreshing.remove(query);
+            }
+        });
+    }
+
+    /**
+     * Drops the pages a write to the beer may have changed; {@code beerStyle} is the style it was written
+     * with, or {@code null} when not known (deletes).
+     */
+    void invalidate(UUID beerId, BeerStyle beerStyle) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            generation.incrementAndGet();
+
+            Set<BeerStyle> styles = EnumSet.noneOf(BeerStyle.class);
+            if (beerStyle != null) {
+                styles.add(beerStyle);
+            }
+            for (Entry entry : entries.values()) {
+                BeerDTO cached = entry.find(beerId);
+                if (cached != null && cached.getBeerStyle() != null) {
+                    styles.add(cached.getBeerStyle());
+                }
+            }
+
+            int before = entries.size();
+            if (styles.isEmpty()) {
+                entries.clear();
+            } else {
+                entries.entrySet().removeIf(e -> e.getKey().beerStyle() == null
+                        || styles.contains(e.getKey().beerStyle())
+                        || e.getValue().find(beerId) != null);
+            }
+            invalidations.add(before - entries.size());
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public QueryCacheStats stats() {
+        synchronized (entries) {
+            return new QueryCacheStats(hits.sum(), staleHits.sum(), misses.sum(), evictions.sum(),
+                    invalidations.sum(), entries.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static Page<BeerDTO> copy(Page<BeerDTO> page) {
+        if (page == null) {
+            return null;
+        }
+        List<BeerDTO> content = page.getContent().stream().map(beer -> beer.toBuilder().build()).toList();
+        return new BeerDTOPageImpl(content, page.getPageable(), page.getTotalElements());
+    }
+
+    public record QueryCacheStats(long hits, long staleHits, long misses, long evictions, long invalidations,
+                                  int size) {
+    }
+
+    /**
+     * A {@code listBeers} query with the service's defaults filled in, so spellings of the same query share an
+     * entry: the name is lower-cased (the match is case-insensitive) and an empty one dropped, a missing
+     * {@code showInventory} is {@code true}, and the page number and size are defaulted and clamped.
+     */
+    record Query(String beerName, BeerStyle beerStyle, boolean showInventory, int pageNumber, int pageSize) {
+
+        static Query of(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber,
+                        Integer pageSize) {
+            return new Query(
+                    beerName == null || beerName.isEmpty() ? null : beerName.toLowerCase(Locale.ROOT),
+                    beerStyle,
+                    showInventory == null || showInventory,
+                    pageNumber == null || pageNumber < 1 ? 1 : pageNumber,
+                    pageSize == null ? BeerCatalog.DEFAULT_PAGE_SIZE : Math.min(pageSize, BeerCatalog.MAX_PAGE_SIZE));
+        }
+    }
+
+    record Entry(Page<BeerDTO> page, long expiresAtNanos) {
+
+        boolean isFresh(long now) {
+            return now - expiresAtNanos < 0;
+        }
+
+        BeerDTO find(UUID beerId) {
+            for (BeerDTO beer : page.getContent()) {
+                if (beerId.equals(beer.getId())) {
+                    return beer;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.springframework.web.util.UriTemplateHandler;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Builds the beer API's request URIs as absolute {@link URI}s, for the {@code RestTemplate} methods that take
+ * one, so the {@code UriTemplateHandler} does not parse a template on every call. The base and paths are
+ * expanded once here. Query strings are written straight into one builder: each style's
+ * {@code beerStyle=...} is worked out up front, ids are written from a hex table without a {@code toString()},
+ * and names are percent-encoded as UTF-8 once. (Going through {@code UriComponentsBuilder.toUriString()} and
+ * then the handler encoded them twice, so {@code Mango Bobs} went out as {@code Mango%2520Bobs}.)
+ */
+public class BeerRequestUris {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] PERCENT_HEX = "0123456789ABCDEF".toCharArray();
+    private static final String[] STYLE_PARAMS = new String[BeerStyle.values().length];
+
+    static {
+        for (BeerStyle style : BeerStyle.values()) {
+            STYLE_PARAMS[style.ordinal()] = "beerStyle=" + style.name();
+        }
+    }
+
+    private final URI beers;
+    private final String beersPath;
+    private final String beerPathPrefix;
+
+    public BeerRequestUris(UriTemplateHandler uriTemplateHandler) {
+        this.beers = uriTemplateHandler.expand(BeerClientImpl.GET_BEER_PATH);
+        this.beersPath = beers.toString();
+        this.beerPathPrefix = beersPath + "/";
+    }
+
+    /**
+     * @return {@value BeerClientImpl#GET_BEER_PATH}
+     */
+    URI beers() {
+        return beers;
+    }
+
+    /**
+     * @return {@value BeerClientImpl#GET_BEER_BY_ID_PATH} for {@code beerId}
+     */
+    URI beer(UUID beerId) {
+        StringBuilder uri = new StringBuilder(beerPathPrefix.length() + 36).append(beerPathPrefix);
+        appendUuid(uri, beerId);
+        return URI.create(uri.toString());
+    }
+
+    /**
+     * @return {@value BeerClientImpl#GET_BEER_PATH} with the given parameters, in the order and under the
+     * names the beer service expects; {@code null} ones are left out
+     */
+    URI beers(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        int capacity = beersPath.length() + 80 + (beerName == null ? 0 : beerName.length() * 3);
+        StringBuilder uri = new StringBuilder(capacity).append(beersPath);
+        char separator = '?';
+
+        if (beerName != null) {
+            appendQueryValue(uri.append(separator).append("beerName="), beerName);
+            separator = '&';
+        }
+        if (beerStyle != null) {
+            uri.append(separator).append(STYLE_PARAMS[beerStyle.ordinal()]);
+            separator = '&';
+        }
+        if (showInventory != null) {
+            uri.append(separator).append(showInventory ? "showInventory=true" : "showInventory=false");
+            separator = '&';
+        }
+        if (pageNumber != null) {
+            uri.append(separator).append("pageNumber=").append(pageNumber.intValue());
+            separator = '&';
+        }
+        if (pageSize != null) {
+            uri.append(separator).append("pageSize=").append(pageSize.intValue());
+        }
+        return URI.create(uri.toString());
+    }
+
+    static void appendUuid(StringBuilder out, UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        appendHex(out, msb >>> 32, 8).append('-');
+        appendHex(out, msb >>> 16, 4).append('-');
+        appendHex(out, msb, 4).append('-');
+        appendHex(out, lsb >>> 48, 4).append('-');
+        appendHex(out, lsb, 12);
+    }
+
+    private static StringBuilder appendHex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+        return out;
+    }
+
+    /**
+     * Appends {@code value} with everything but RFC 3986 unreserved characters percent-encoded as UTF-8.
+     */
+    static void appendQueryValue(StringBuilder out, String value) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && isUnreserved(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            out.append(value);
+            return;
+        }
+        out.append(value, 0, i);
+        for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+            if (b >= 0 && isUnreserved((char) b)) {
+                out.append((char) b);
+            } else {
+                out.append('%').append(PERCENT_HEX[(b >> 4) & 0xF]).append(PERCENT_HEX[b & 0xF]);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -0,0 +1,16 @@
+package guru.springframework.spring6resttemplate.client;
+
+/**
+ * How {@link BeerClientImpl#createBeer} and {@link BeerClientImpl#updateBeer} produce the returned beer.
+ */
+public enum BeerWriteMode {
+    /**
+     * Use the write response body; if the server sends none, build the result from the submitted beer
+     * plus the Location (id) and a numeric ETag (version). One round-trip per write.
+     */
+    RESPONSE,
+    /**
+     * Always GET the beer after writing it, so the result reflects exactly what the server stored.
+     */
+    READ_AFTER_WRITE
+}
@@ -0,0 +1,191 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.config.LatencyWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedging for idempotent reads: the call runs on a virtual thread and, if it hasn't answered within the
+ * operation's recent {@code percentile} latency, an identical second call is started. Whichever returns
+ * first wins and the other is interrupted, which aborts its socket read. Errors are not hedged; a failing
+ * call only loses if the other one succeeds.
+ * <p>
+ * Extra load is bounded by a budget: every call earns {@code budget-percent}/100 of a hedge, a hedge spends
+ * one, and at most {@link #MAX_BURST} can be saved up. Nothing is hedged until an operation has
+ * {@link #MIN_SAMPLES} latency samples. Disabled unless {@code rest.template.hedge.enabled=true}.
+ */
+@Component
+public class HedgedRequests implements DisposableBean {
+
+    static final int WINDOW_SIZE = 1024;
+    static final int MIN_SAMPLES = 32;
+    static final int RECOMPUTE_EVERY = 16;
+    static final long MAX_BURST = 10;
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long earnedPerCall;
+    private final long minDelayNanos;
+    private final BeerClientMetrics metrics;
+    private final MeterProvider<Counter> hedges;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+    private final AtomicLong budget = new AtomicLong();
+
+    public HedgedRequests(@Value("${rest.template.hedge.enabled:false}") boolean enabled,
+                          @Value("${rest.template.hedge.percentile:0.95}") double percentile,
+                          @Value("${rest.template.hedge.budget-percent:5}") double budgetPercent,
+                          @Value("${rest.template.hedge.min-delay:5ms}") Duration minDelay,
+                          BeerClientMetrics metrics,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.earnedPerCall = Math.round(budgetPercent / 100 * MILLI_TOKENS);
+        this.minDelayNanos = minDelay.toNanos();
+        this.metrics = metrics;
+        this.hedges = Counter.builder("beer.client.hedges")
+                .description("Hedged reads by what became of them")
+                .withRegistry(meterRegistry);
+    }
+
+    public static HedgedRequests disabled() {
+        return new HedgedRequests(false, 0, 0, Duration.ZERO, null, new SimpleMeterRegistry());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    <T> T execute(String operation, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Operation stats = operations.computeIfAbsent(operation, key -> new Operation());
+        earn();
+
+        Supplier<T> attempt = metrics.propagate(call);
+        long start = System.nanoTime();
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+
+        Future<?> primary = executor.submit(() -> run(attempt, winner, running, null));
+        Future<?> hedge = null;
+        try {
+            long delay = stats.delayNanos;
+            if (delay > 0) {
+                try {
+                    return finish(winner.get(delay, TimeUnit.NANOSECONDS), stats, start);
+                } catch (TimeoutException e) {
+                    hedge = startHedge(operation, attempt, winner, running);
+                }
+            }
+            return finish(winner.get(), stats, start);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + operation, e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> Future<?> startHedge(String operation, Supplier<T> attempt, CompletableFuture<T> winner,
+                                     AtomicInteger running) {
+        if (!spend()) {
+            hedges.withTags("operation", operation, "result", "budget_exhausted").increment();
+            return null;
+        }
+        // the primary may have failed in the meantime, in which case the caller already has its error
+        if (running.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) {
+            return null;
+        }
+        hedges.withTags("operation", operation, "result", "sent").increment();
+        return executor.submit(() -> run(attempt, winner, running, operation));
+    }
+
+    /**
+     * @param hedgeOf the operation when this is the hedge, {@code null} for the primary call
+     */
+    private <T> void run(Supplier<T> attempt, CompletableFuture<T> winner, AtomicInteger running, String hedgeOf) {
+        try {
+            if (winner.complete(attempt.get()) && hedgeOf != null) {
+                hedges.withTags("operation", hedgeOf, "result", "won").increment();
+            }
+        } catch (Throwable e) {
+            // errors too, or the caller waiting on the winner would never return
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> T finish(T value, Operation stats, long start) {
+        stats.record(System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void earn() {
+        budget.getAndUpdate(tokens -> Math.min(tokens + earnedPerCall, MAX_BURST * MILLI_TOKENS));
+    }
+
+    private boolean spend() {
+        return budget.getAndUpdate(tokens -> tokens >= MILLI_TOKENS ? tokens - MILLI_TOKENS : tokens) >= MILLI_TOKENS;
+    }
+
+    long delayNanos(String operation) {
+        Operation stats = operations.get(operation);
+        return stats == null ? 0 : stats.delayNanos;
+    }
+
+    private final class Operation {
+
+        final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE);
+        volatile long delayNanos;
+
+        void record(long nanos) {
+            latencies.record(nanos);
+            long count = latencies.count();
+
+            if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+                delayNanos = Math.max(minDelayNanos, latencies.percentile(percentile));
+            }
+        }
+    }
+}
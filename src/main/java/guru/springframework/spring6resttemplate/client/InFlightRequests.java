@@ -0,0 +1,55 @@
+package guru.springframework.spring6resttemplate.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Request-coalescing table: the first caller for a key runs the call, callers arriving while it is
+ * in flight wait for and share the same result (or exception). Nothing is kept once the call completes.
+ */
+final class InFlightRequests<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = call.get();
+            leader.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // errors too, or the callers waiting on the leader would never return
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+
+    static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
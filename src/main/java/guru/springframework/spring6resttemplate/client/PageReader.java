@@ -0,0 +1,96 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import guru.springframework.spring6resttemplate.model.RestPageImpl;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request callback and response extractor for a {@code GET} of a page of {@code T}, to pass to
+ * {@link org.springframework.web.client.RestTemplate#execute}. The {@code RestPageImpl<T>} type, the
+ * {@code Accept} header and an {@link ObjectReader} for each Jackson converter (JSON, Smile, CBOR) are worked
+ * out once here, rather than on every call as {@code getForObject(uri, SomePage.class)} does. Responses no
+ * cached reader handles (no body, no or another content type) go through the converters as before.
+ */
+public class PageReader<T> implements RequestCallback, ResponseExtractor<Page<T>> {
+
+    private final Type pageType;
+    private final List<Codec> codecs = new ArrayList<>();
+    private final List<MediaType> accept = new ArrayList<>();
+    private final HttpMessageConverterExtractor<Page<T>> fallback;
+
+    public PageReader(List<HttpMessageConverter<?>> converters, Class<T> contentType) {
+        this.pageType = ResolvableType.forClassWithGenerics(RestPageImpl.class, contentType).getType();
+
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+                ObjectMapper objectMapper = jackson.getObjectMapper();
+                List<MediaType> mediaTypes = jackson.getSupportedMediaTypes(RestPageImpl.class);
+                codecs.add(new Codec(mediaTypes, objectMapper.readerFor(objectMapper.constructType(pageType))));
+                mediaTypes.stream().filter(mediaType -> !accept.contains(mediaType)).forEach(accept::add);
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(accept);
+        this.fallback = new HttpMessageConverterExtractor<>(pageType, converters);
+    }
+
+    @Override
+    public void doWithRequest(ClientHttpRequest request) {
+        request.getHeaders().setAccept(accept);
+    }
+
+    @Override
+    public Page<T> extractData(ClientHttpResponse response) throws IOException {
+        MediaType contentType = response.getHeaders().getContentType();
+        Codec codec = contentType == null || !hasBody(response) ? null : codecFor(contentType);
+        if (codec == null) {
+            return fallback.extractData(response);
+        }
+        try (JsonParser parser = codec.reader().createParser(response.getBody())) {
+            return parser.nextToken() == null ? null : codec.reader().readValue(parser);
+        } catch (JacksonException e) {
+            throw new RestClientException("Error while extracting response for type [" + pageType
+                    + "] and content type [" + contentType + "]", e);
+        }
+    }
+
+    private Codec codecFor(MediaType contentType) {
+        for (Codec codec : codecs) {
+            for (MediaType mediaType : codec.mediaTypes()) {
+                if (mediaType.includes(contentType)) {
+                    return codec;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasBody(ClientHttpResponse response) throws IOException {
+        HttpStatusCode status = response.getStatusCode();
+        return !status.is1xxInformational() && !status.isSameCodeAs(HttpStatus.NO_CONTENT)
+                && !status.isSameCodeAs(HttpStatus.NOT_MODIFIED) && response.getHeaders().getContentLength() != 0;
+    }
+
+    private record Codec(List<MediaType> mediaTypes, ObjectReader reader) {
+    }
+}
@@ -0,0 +1,92 @@
+package guru.springframework.spring6resttemplate.client;
+
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Walks every page of a query, keeping up to {@code prefetchPages} pages in flight (or buffered)
+ * ahead of the page currently being consumed. Page numbers are 1-based, as the beer API expects.
+ */
+class PrefetchingPageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final IntFunction<Page<T>> pageFetcher;
+    private final Executor executor;
+    private final int prefetchPages;
+    private final Deque<CompletableFuture<Page<T>>> pending = new ArrayDeque<>();
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextPageNumber = 1;
+    private int totalPages = 1;
+
+    PrefetchingPageIterator(IntFunction<Page<T>> pageFetcher, Executor executor, int prefetchPages) {
+        if (prefetchPages < 1) {
+            throw new IllegalArgumentException("prefetchPages must be at least 1");
+        }
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+        this.prefetchPages = prefetchPages;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            requestPages();
+            if (pending.isEmpty()) {
+                return false;
+            }
+            Page<T> page = await(pending.poll());
+
+            if (page.getContent().isEmpty()) {
+                close();
+                return false;
+            }
+            totalPages = page.getTotalPages();
+            current = page.getContent().iterator();
+            requestPages();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(page -> page.cancel(false));
+        pending.clear();
+        nextPageNumber = Integer.MAX_VALUE;
+    }
+
+    private void requestPages() {
+        while (pending.size() < prefetchPages && nextPageNumber <= totalPages) {
+            int pageNumber = nextPageNumber++;
+            pending.add(CompletableFuture.supplyAsync(() -> pageFetcher.apply(pageNumber), executor));
+        }
+    }
+
+    private Page<T> await(CompletableFuture<Page<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
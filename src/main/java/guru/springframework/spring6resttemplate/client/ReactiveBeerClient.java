@@ -0,0 +1,42 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface ReactiveBeerClient {
+    Mono<BeerDTO> getBeerById(UUID beerId);
+
+    /**
+     * Fetches the distinct ids, at most {@code maxConcurrency} at a time. Beers that are not found are left out.
+     */
+    Flux<BeerDTO> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency);
+
+    Mono<BeerDTO> createBeer(BeerDTO beerDTO);
+
+    Mono<Void> deleteBeer(UUID beerId);
+
+    Mono<BeerDTO> updateBeer(BeerDTO beerDTO);
+
+    Mono<Page<BeerDTO>> listBeersPage(String beerName,
+                                      BeerStyle beerStyle,
+                                      Boolean showInventory,
+                                      Integer pageNumber,
+                                      Integer pageSize);
+
+    Flux<BeerDTO> listBeers();
+
+    /**
+     * Every beer matching the filters. Pages are requested as the subscriber asks for more beers, at most one
+     * page ahead of what it has consumed; cancelling stops the walk.
+     */
+    Flux<BeerDTO> listBeers(String beerName,
+                            BeerStyle beerStyle,
+                            Boolean showInventory,
+                            Integer pageSize);
+}
@@ -0,0 +1,136 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.RestPageImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.UUID;
+
+import static guru.springframework.spring6resttemplate.client.BeerClientImpl.GET_BEER_BY_ID_PATH;
+import static guru.springframework.spring6resttemplate.client.BeerClientImpl.GET_BEER_PATH;
+
+/**
+ * Non-blocking counterpart of {@link BeerClientImpl} on a {@link WebClient}, for callers that are already
+ * reactive. Writes return what the service sent back, like {@link BeerWriteMode#RESPONSE}.
+ */
+@RequiredArgsConstructor
+@Service
+public class ReactiveBeerClientImpl implements ReactiveBeerClient {
+
+    private final WebClient beerWebClient;
+
+    @Override
+    public Mono<BeerDTO> getBeerById(UUID beerId) {
+        return beerWebClient.get()
+                .uri(GET_BEER_BY_ID_PATH, beerId)
+                .retrieve()
+                .bodyToMono(BeerDTO.class);
+    }
+
+    @Override
+    public Flux<BeerDTO> getBeersByIds(Collection<UUID> beerIds, int maxConcurrency) {
+        return Flux.fromIterable(new LinkedHashSet<>(beerIds))
+                .flatMapSequential(beerId -> getBeerById(beerId)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()), maxConcurrency);
+    }
+
+    @Override
+    public Mono<BeerDTO> createBeer(BeerDTO beerDTO) {
+        return beerWebClient.post()
+                .uri(GET_BEER_PATH)
+                .bodyValue(beerDTO)
+                .retrieve()
+                .toEntity(BeerDTO.class)
+                .map(response -> BeerClientImpl.writtenBeer(beerDTO,
+                        BeerClientImpl.idFromLocation(response.getHeaders().getLocation(), beerDTO.getId()), response));
+    }
+
+    @Override
+    public Mono<Void> deleteBeer(UUID beerId) {
+        return beerWebClient.delete()
+                .uri(GET_BEER_BY_ID_PATH, beerId)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    @Override
+    public Mono<BeerDTO> updateBeer(BeerDTO beerDTO) {
+        return beerWebClient.put()
+                .uri(GET_BEER_BY_ID_PATH, beerDTO.getId())
+                .bodyValue(beerDTO)
+                .retrieve()
+                .toEntity(BeerDTO.class)
+                .map(response -> BeerClientImpl.writtenBeer(beerDTO, beerDTO.getId(), response));
+    }
+
+    @Override
+    public Mono<Page<BeerDTO>> listBeersPage(String beerName,
+                                             BeerStyle beerStyle,
+                                             Boolean showInventory,
+                                             Integer pageNumber,
+                                             Integer pageSize) {
+
+        Mono<RestPageImpl<BeerDTO>> page = beerWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path(GET_BEER_PATH)
+                        .queryParamIfPresent("beerName", Optional.ofNullable(beerName))
+                        .queryParamIfPresent("beerStyle", Optional.ofNullable(beerStyle))
+                        .queryParamIfPresent("showInventory", Optional.ofNullable(showInventory))
+                        .queryParamIfPresent("pageNumber", Optional.ofNullable(pageNumber))
+                        .queryParamIfPresent("pageSize", Optional.ofNullable(pageSize))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<RestPageImpl<BeerDTO>>() {});
+
+        // Mono.from hands a Mono back as is, only widened to Page
+        return Mono.from(page);
+    }
+
+    @Override
+    public Flux<BeerDTO> listBeers() {
+        return listBeers(null, null, null, null);
+    }
+
+    @Override
+    public Flux<BeerDTO> listBeers(String beerName,
+                                   BeerStyle beerStyle,
+                                   Boolean showInventory,
+                                   Integer pageSize) {
+
+        // page numbers are 1-based; expand only asks for the next page once this one has been emitted
+        return fetchPage(beerName, beerStyle, showInventory, 1, pageSize)
+                .expand(fetched -> fetched.isLast() ? Mono.empty()
+                        : fetchPage(beerName, beerStyle, showInventory, fetched.pageNumber() + 1, pageSize))
+                .concatMapIterable(fetched -> fetched.page().getContent(), 1);
+    }
+
+    private Mono<FetchedPage> fetchPage(String beerName,
+                                        BeerStyle beerStyle,
+                                        Boolean showInventory,
+                                        int pageNumber,
+                                        Integer pageSize) {
+
+        return listBeersPage(beerName, beerStyle, showInventory, pageNumber, pageSize)
+                .map(page -> new FetchedPage(pageNumber, page));
+    }
+
+    private record FetchedPage(int pageNumber, Page<BeerDTO> page) {
+
+        boolean isLast() {
+            return page.getContent().isEmpty() || pageNumber >= page.getTotalPages();
+        }
+    }
+}
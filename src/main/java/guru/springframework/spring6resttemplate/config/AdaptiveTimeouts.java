@@ -0,0 +1,116 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-operation response timeouts for the pooled HttpClient, plugged in as the request factory's
+ * HttpContext factory so every attempt picks up the current value. An operation is the method plus the
+ * path with id segments collapsed ({@code GET /api/v1/beer/{id}}). Until it has {@link #MIN_SAMPLES}
+ * samples it gets {@code max}; after that {@code multiplier} x its recent p99, kept within [min, max].
+ * Current values are exposed as {@code beer.client.timeout} gauges. The recent median is kept too, as the
+ * latency an operation normally has.
+ */
+@Component
+public class AdaptiveTimeouts {
+
+    static final int WINDOW_SIZE = 256;
+    static final int MIN_SAMPLES = 32;
+    static final int RECOMPUTE_EVERY = 16;
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+    private final long minMillis;
+    private final long maxMillis;
+    private final double multiplier;
+    private final Timeout poolWait;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeouts(@Value("${rest.template.timeout.min:1s}") Duration min,
+                            @Value("${rest.template.timeout.max:10s}") Duration max,
+                            @Value("${rest.template.timeout.multiplier:4}") double multiplier,
+                            @Value("${rest.template.timeout.pool-wait:2s}") Duration poolWait,
+                            MeterRegistry meterRegistry) {
+        this.minMillis = min.toMillis();
+        this.maxMillis = max.toMillis();
+        this.multiplier = multiplier;
+        this.poolWait = Timeout.of(poolWait);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public HttpContext httpContext(HttpMethod method, URI uri) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(poolWait)
+                .setResponseTimeout(Timeout.ofMilliseconds(timeoutMillis(method, uri)))
+                .build());
+        return context;
+    }
+
+    public long timeoutMillis(HttpMethod method, URI uri) {
+        return operation(method, uri).timeoutMillis;
+    }
+
+    /**
+     * @return the operation's recent median latency, or 0 until it has {@link #MIN_SAMPLES} samples
+     */
+    public long typicalNanos(HttpMethod method, URI uri) {
+        return operation(method, uri).medianNanos;
+    }
+
+    /**
+     * Latency of an exchange that got a response; timeouts and connection failures are not recorded.
+     */
+    public void record(HttpMethod method, URI uri, long nanos) {
+        operation(method, uri).record(nanos);
+    }
+
+    private Operation operation(HttpMethod method, URI uri) {
+        String key = method.name() + " " + ID_SEGMENT.matcher(uri.getRawPath()).replaceAll("/{id}");
+        return operations.computeIfAbsent(key, this::register);
+    }
+
+    private Operation register(String key) {
+        Operation operation = new Operation();
+        Gauge.builder("beer.client.timeout", operation, o -> o.timeoutMillis)
+                .description("Current adaptive response timeout")
+                .baseUnit("milliseconds")
+                .tag("operation", key)
+                .register(meterRegistry);
+        return operation;
+    }
+
+    private final class Operation {
+
+        final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE);
+        volatile long timeoutMillis = maxMillis;
+        volatile long medianNanos;
+
+        void record(long nanos) {
+            latencies.record(nanos);
+            long count = latencies.count();
+
+            if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+                long p99 = TimeUnit.NANOSECONDS.toMillis(latencies.percentile(0.99));
+                timeoutMillis = Math.min(maxMillis, Math.max(minMillis, (long) (p99 * multiplier)));
+                medianNanos = latencies.percentile(0.5);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * A call was rejected before reaching the beer service, because the circuit breaker is open or the
+ * concurrency limit is reached.
+ */
+public class CallNotPermittedException extends RestClientException {
+
+    public CallNotPermittedException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,123 @@
+package guru.springframework.spring6resttemplate.config;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker. While CLOSED it keeps the outcome of the last {@code windowSize} calls and
+ * opens once at least {@code minimumCalls} were seen and the failure rate reaches the threshold. OPEN
+ * rejects everything for {@code openDuration}, then HALF_OPEN lets {@code probeCalls} through: all of them
+ * succeeding closes the breaker, any failure opens it again. If the probes have not settled it within another
+ * {@code openDuration}, a fresh round of probes is let through, so a probe that never reports cannot hold the
+ * breaker half open.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int probeCalls;
+    private final long openNanos;
+
+    private final boolean[] failed;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long halfOpenedAt;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, int probeCalls, Duration openDuration) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.probeCalls = probeCalls;
+        this.openNanos = openDuration.toNanos();
+        this.failed = new boolean[windowSize];
+    }
+
+    synchronized boolean tryAcquirePermission() {
+        long now = System.nanoTime();
+        if ((state == State.OPEN && now - openedAt >= openNanos)
+                || (state == State.HALF_OPEN && now - halfOpenedAt >= openNanos)) {
+            halfOpen(now);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesLeft > 0) {
+                    probesLeft--;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    synchronized void onResult(boolean success) {
+        switch (state) {
+            case CLOSED -> {
+                if (calls == windowSize && failed[next]) {
+                    failures--;
+                }
+                calls = Math.min(calls + 1, windowSize);
+                failed[next] = !success;
+                if (!success) {
+                    failures++;
+                }
+                next = (next + 1) % windowSize;
+
+                if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (!success) {
+                    open();
+                } else if (++probesSucceeded >= probeCalls) {
+                    close();
+                }
+            }
+            case OPEN -> {
+                // a call admitted before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+
+    /**
+     * The permitted call never reached the service; a half-open probe slot is handed back.
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesLeft++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void halfOpen(long now) {
+        state = State.HALF_OPEN;
+        halfOpenedAt = now;
+        probesLeft = probeCalls;
+        probesSucceeded = 0;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        calls = 0;
+        failures = 0;
+        next = 0;
+    }
+}
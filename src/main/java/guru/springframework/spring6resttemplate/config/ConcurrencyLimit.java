@@ -0,0 +1,105 @@
+package guru.springframework.spring6resttemplate.config;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit, the way TCP sizes its congestion window. Each finished call reports whether it ran
+ * into congestion. If it did, the limit is cut by {@link #BACKOFF_RATIO}, unless the call started before the
+ * last cut: it saw the same overload that cut was for. Otherwise the limit
+ * grows by one, but only while at least half of it is in use, so a lightly loaded client does not inflate a
+ * limit it never tested. The limit stays within [min, max]; with min = max it is a plain bulkhead. Calls over
+ * the limit wait for a slot up to the given time.
+ */
+final class ConcurrencyLimit {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseAt = System.nanoTime();
+
+    ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+    }
+
+    /**
+     * @return the time the slot was taken, to pass to {@link #release(long, boolean)}, or -1 if none came
+     * free within {@code waitNanos}
+     */
+    long tryAcquire(long waitNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long remaining = waitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot taken at {@code acquiredAt} and adjusts the limit by the call's outcome.
+     */
+    void release(long acquiredAt, boolean congested) {
+        lock.lock();
+        try {
+            if (congested) {
+                if (acquiredAt - lastDecreaseAt >= 0) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecreaseAt = System.nanoTime();
+                }
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees a slot without adjusting the limit, for calls whose outcome says nothing about the service.
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
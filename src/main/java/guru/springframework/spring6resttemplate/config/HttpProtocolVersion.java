@@ -0,0 +1,19 @@
+package guru.springframework.spring6resttemplate.config;
+
+/**
+ * Transport the RestTemplate uses to reach the beer service ({@code rest.template.http-version}).
+ */
+public enum HttpProtocolVersion {
+
+    /**
+     * Pooled Apache HttpClient connections, one request per connection at a time.
+     */
+    HTTP_1_1,
+
+    /**
+     * Reactor Netty with concurrent requests multiplexed as streams over a shared connection: h2 negotiated
+     * through ALPN for {@code https} root URLs (falling back to HTTP/1.1), h2c with prior knowledge for plain
+     * {@code http} ones.
+     */
+    HTTP_2
+}
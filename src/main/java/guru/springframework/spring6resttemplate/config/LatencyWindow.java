@@ -0,0 +1,44 @@
+package guru.springframework.spring6resttemplate.config;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recent {@code size} latency samples in a ring buffer. Recording is lock-free; percentiles are
+ * computed from a sorted snapshot, so callers on a hot path should cache them rather than ask per request.
+ */
+public final class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencyWindow(int size) {
+        this.samples = new AtomicLongArray(size);
+    }
+
+    public void record(long nanos) {
+        long slot = recorded.getAndIncrement() % samples.length();
+        samples.set((int) slot, nanos);
+    }
+
+    public long count() {
+        return recorded.get();
+    }
+
+    /**
+     * @return the latency in nanos at {@code quantile} (0..1] over the window, or -1 before any sample
+     */
+    public long percentile(double quantile) {
+        int n = (int) Math.min(recorded.get(), samples.length());
+        if (n == 0) {
+            return -1;
+        }
+        long[] snapshot = new long[n];
+        for (int i = 0; i < n; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        return snapshot[Math.max((int) Math.ceil(quantile * n) - 1, 0)];
+    }
+}
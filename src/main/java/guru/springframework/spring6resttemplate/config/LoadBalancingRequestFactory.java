@@ -0,0 +1,331 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads requests over several replicas of the beer service. URIs are expanded against the first root URL
+ * and re-based here onto the chosen endpoint, so every attempt (retries included) is balanced on its own.
+ * <p>
+ * Choice is power of two choices: two random healthy endpoints, the one with fewer outstanding requests wins.
+ * An endpoint is outstanding from execute until its response is closed. After {@code ejectAfterFailures}
+ * consecutive I/O errors or 5xx responses an endpoint is ejected for {@code ejectionTime}, doubling for each
+ * ejection in a row up to {@code maxEjectionTime}; it is re-admitted once that time has passed and its first
+ * success resets the backoff. The last healthy endpoint is never ejected. Each endpoint has its own request
+ * factory and therefore its own connection pool.
+ */
+public class LoadBalancingRequestFactory implements ClientHttpRequestFactory, DisposableBean {
+
+    private final List<Endpoint> endpoints;
+    private final URI primaryBase;
+    private final String primaryBasePath;
+    private final int ejectAfterFailures;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+
+    public LoadBalancingRequestFactory(List<Endpoint> endpoints, int ejectAfterFailures, Duration ejectionTime,
+                                       Duration maxEjectionTime, MeterRegistry meterRegistry) {
+        this.endpoints = List.copyOf(endpoints);
+        this.primaryBase = endpoints.getFirst().base;
+        this.primaryBasePath = trimSlash(primaryBase.getRawPath() == null ? "" : primaryBase.getRawPath());
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.maxEjectionNanos = maxEjectionTime.toNanos();
+
+        for (Endpoint endpoint : this.endpoints) {
+            String tag = endpoint.base.toString();
+            Gauge.builder("beer.client.endpoint.outstanding", endpoint.outstanding, AtomicInteger::get)
+                    .description("Requests in flight to a beer service endpoint")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("beer.client.endpoint.ejected", endpoint, e -> e.isEjected(System.nanoTime()) ? 1 : 0)
+                    .description("1 while the endpoint is ejected")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            endpoint.ejections = Counter.builder("beer.client.endpoint.ejections")
+                    .description("Times the endpoint was ejected")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        if (!isUnderPrimaryBase(uri)) {
+            // not a beer service URI; nothing to balance
+            return endpoints.getFirst().requestFactory.createRequest(uri, httpMethod);
+        }
+
+        Endpoint endpoint = choose();
+        StringBuilder rebased = new StringBuilder(baseOf(endpoint.base))
+                .append(uri.getRawPath(), primaryBasePath.length(), uri.getRawPath().length());
+        if (uri.getRawQuery() != null) {
+            rebased.append('?').append(uri.getRawQuery());
+        }
+        return new TrackedRequest(endpoint.requestFactory.createRequest(URI.create(rebased.toString()), httpMethod),
+                endpoint);
+    }
+
+    /**
+     * Same scheme, host and port as the first root URL, and a path within its path: {@code /api} covers
+     * {@code /api} and {@code /api/beer} but not {@code /apiary}.
+     */
+    boolean isUnderPrimaryBase(URI uri) {
+        if (!primaryBase.getScheme().equalsIgnoreCase(uri.getScheme())
+                || uri.getHost() == null || !primaryBase.getHost().equalsIgnoreCase(uri.getHost())
+                || portOf(primaryBase) != portOf(uri)) {
+            return false;
+        }
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        return path.startsWith(primaryBasePath)
+                && (path.length() == primaryBasePath.length() || path.charAt(primaryBasePath.length()) == '/');
+    }
+
+    Endpoint choose() {
+        long now = System.nanoTime();
+        List<Endpoint> candidates = endpoints;
+
+        if (healthyCount(now) < endpoints.size()) {
+            candidates = endpoints.stream().filter(endpoint -> !endpoint.isEjected(now)).toList();
+            if (candidates.isEmpty()) {
+                // everything is ejected: use the endpoint that is due back soonest rather than fail
+                return endpoints.stream().min(Comparator.comparingLong(endpoint -> endpoint.ejectedUntil - now))
+                        .orElseThrow();
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(candidates.size());
+        int b = random.nextInt(candidates.size() - 1);
+        if (b >= a) {
+            b++;
+        }
+        Endpoint first = candidates.get(a);
+        Endpoint second = candidates.get(b);
+        return second.outstanding.get() < first.outstanding.get() ? second : first;
+    }
+
+    private void onSuccess(Endpoint endpoint) {
+        endpoint.consecutiveFailures.set(0);
+        endpoint.ejectionsInARow = 0;
+    }
+
+    private void onFailure(Endpoint endpoint) {
+        if (Thread.currentThread().isInterrupted()) {
+            // the caller cancelled (e.g. a hedge that lost); not the endpoint's fault
+            return;
+        }
+        if (endpoint.consecutiveFailures.incrementAndGet() < ejectAfterFailures) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (endpoint.isEjected(now) || healthyCount(now) <= 1) {
+                return;
+            }
+            int shift = Math.min(endpoint.ejectionsInARow++, 20);
+            long duration = Math.min(maxEjectionNanos, ejectionNanos << shift);
+            endpoint.ejectedUntil = now + duration;
+            endpoint.consecutiveFailures.set(0);
+            endpoint.ejections.increment();
+        }
+    }
+
+    private int healthyCount(long now) {
+        int healthy = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected(now)) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.requestFactory instanceof DisposableBean disposable) {
+                disposable.destroy();
+            }
+        }
+    }
+
+    private static String baseOf(URI base) {
+        return trimSlash(base.toString());
+    }
+
+    private static String trimSlash(String value) {
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static int portOf(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * One replica: its root URL and the request factory (with its own pool) used to reach it.
+     */
+    public static final class Endpoint {
+
+        final URI base;
+        final ClientHttpRequestFactory requestFactory;
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long ejectedUntil = Long.MIN_VALUE;
+        volatile int ejectionsInARow;
+        Counter ejections;
+
+        public Endpoint(URI base, ClientHttpRequestFactory requestFactory) {
+            this.base = base;
+            this.requestFactory = requestFactory;
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntil != Long.MIN_VALUE && now - ejectedUntil < 0;
+        }
+
+        @Override
+        public String toString() {
+            return base.toString();
+        }
+    }
+
+    private final class TrackedRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+        private final Endpoint endpoint;
+
+        TrackedRequest(ClientHttpRequest delegate, Endpoint endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            endpoint.outstanding.incrementAndGet();
+            ClientHttpResponse response;
+            try {
+                response = delegate.execute();
+            } catch (IOException | RuntimeException e) {
+                endpoint.outstanding.decrementAndGet();
+                onFailure(endpoint);
+                throw e;
+            }
+
+            boolean serverError;
+            try {
+                serverError = response.getStatusCode().is5xxServerError();
+            } catch (IOException | RuntimeException e) {
+                endpoint.outstanding.decrementAndGet();
+                response.close();
+                onFailure(endpoint);
+                throw e;
+            }
+
+            if (serverError) {
+                onFailure(endpoint);
+            } else {
+                onSuccess(endpoint);
+            }
+            return new ReleasingResponse(response, endpoint);
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    /**
+     * Keeps the request outstanding until the body has been consumed and the response closed.
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Endpoint endpoint;
+        private boolean released;
+
+        ReleasingResponse(ClientHttpResponse delegate, Endpoint endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                endpoint.outstanding.decrementAndGet();
+            }
+            delegate.close();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package guru.springframework.spring6resttemplate.config;
 
 
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -16,40 +20,162 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Objects.isNull;
 
+/**
+ * Adds the client-credentials bearer token to every request. The header value is cached and read
+ * without locking; a single thread fetches a new token when the cached one has expired, and a
+ * background task refreshes it shortly before expiry so callers normally never wait on the token endpoint.
+ * Every trip to the token endpoint is timed as {@code beer.client.token.acquisition}, tagged with whether a
+ * request or the background refresh triggered it.
+ */
 @Component
-public class OAuthClientInterceptor implements ClientHttpRequestInterceptor {
+public class OAuthClientInterceptor implements ClientHttpRequestInterceptor, DisposableBean {
+
+    /**
+     * Must stay below the client credentials provider clock skew (60s by default), otherwise the
+     * manager keeps handing back the cached token and the early refresh is a no-op.
+     */
+    static final Duration REFRESH_AHEAD = Duration.ofSeconds(30);
+    static final Duration REFRESH_RETRY = Duration.ofSeconds(5);
+
     private final OAuth2AuthorizedClientManager manager;
     private final Authentication principal;
     private final ClientRegistration clientRegistration;
+    private final OAuth2AuthorizeRequest authorizeRequest;
+    private final MeterProvider<Timer> tokenAcquisition;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ScheduledExecutorService refreshScheduler;
+    private volatile CachedToken cachedToken;
+    private ScheduledFuture<?> scheduledRefresh;
 
-    public OAuthClientInterceptor(OAuth2AuthorizedClientManager manager,  ClientRegistrationRepository clientRegistrationRepository) {
+    public OAuthClientInterceptor(OAuth2AuthorizedClientManager manager,  ClientRegistrationRepository clientRegistrationRepository,
+                                  MeterRegistry meterRegistry) {
         this.manager = manager;
-        this.principal = createPrincipal();
+        this.meterRegistry = meterRegistry;
+        this.tokenAcquisition = Timer.builder("beer.client.token.acquisition")
+                .description("Access token requests to the authorization server")
+                .withRegistry(meterRegistry);
         this.clientRegistration = clientRegistrationRepository.findByRegistrationId("springauth");
+        this.principal = createPrincipal();
+        this.authorizeRequest = OAuth2AuthorizeRequest
+                .withClientRegistrationId(clientRegistration.getRegistrationId())
+                .principal(principal)
+                .build();
+        this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("oauth-token-refresh")
+                .daemon(true)
+                .factory());
     }
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
-        OAuth2AuthorizeRequest oAuth2AuthorizeRequest = OAuth2AuthorizeRequest
-                .withClientRegistrationId(clientRegistration.getRegistrationId())
-                .principal(createPrincipal())
-                .build();
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorizationHeader());
+
+        return execution.execute(request, body);
+    }
+
+    String authorizationHeader() {
+        CachedToken token = cachedToken;
+
+        if (isNull(token) || token.isExpired(Instant.now())) {
+            token = refresh(token);
+        }
+        return token.headerValue();
+    }
+
+    /**
+     * @return the cached header value, or {@code null} if a token has to be fetched first
+     */
+    String cachedAuthorizationHeader() {
+        CachedToken token = cachedToken;
 
-        OAuth2AuthorizedClient client = manager.authorize(oAuth2AuthorizeRequest);
+        return isNull(token) || token.isExpired(Instant.now()) ? null : token.headerValue();
+    }
+
+    /**
+     * Single-flight fetch: threads that queued behind the lock pick up the token the first one stored.
+     */
+    private CachedToken refresh(CachedToken stale) {
+        refreshLock.lock();
+        try {
+            CachedToken current = cachedToken;
+            if (current != stale && !current.isExpired(Instant.now())) {
+                return current;
+            }
+            return fetchToken("request");
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+        refreshLock.lock();
+        try {
+            fetchToken("background");
+        } catch (RuntimeException e) {
+            // the cached token is still served until it expires; callers then fetch synchronously
+            schedule(REFRESH_RETRY);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private CachedToken fetchToken(String trigger) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        OAuth2AuthorizedClient client;
+        try {
+            client = manager.authorize(authorizeRequest);
+        } catch (RuntimeException e) {
+            sample.stop(tokenAcquisition.withTags("trigger", trigger, "outcome", "FAILURE"));
+            throw e;
+        }
+        sample.stop(tokenAcquisition.withTags("trigger", trigger, "outcome", isNull(client) ? "FAILURE" : "SUCCESS"));
 
         if (isNull(client)) {
             throw new IllegalStateException("Missing credentials");
         }
 
-        request.getHeaders().add(HttpHeaders.AUTHORIZATION,
-                "Bearer " + client.getAccessToken().getTokenValue());
+        Instant expiresAt = client.getAccessToken().getExpiresAt();
+        CachedToken token = new CachedToken("Bearer " + client.getAccessToken().getTokenValue(), expiresAt);
+        cachedToken = token;
 
-        return execution.execute(request, body);
+        if (expiresAt != null) {
+            schedule(Duration.between(Instant.now(), expiresAt.minus(REFRESH_AHEAD)));
+        }
+        return token;
+    }
+
+    private void schedule(Duration delay) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = refreshScheduler.schedule(this::refreshInBackground,
+                Math.max(delay.toSeconds(), 1), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        refreshScheduler.shutdownNow();
+    }
+
+    private record CachedToken(String headerValue, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
     }
 
     private Authentication createPrincipal() {
@@ -0,0 +1,39 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Adds the bearer token of {@link OAuthClientInterceptor} to WebClient requests, so the reactive client shares
+ * the {@code springauth} registration, the cached token and its background refresh with the RestTemplate. A
+ * cached token is added straight away; fetching one blocks on the token endpoint, so that runs on the bounded
+ * elastic scheduler rather than an event loop thread.
+ */
+public class OAuthExchangeFilter implements ExchangeFilterFunction {
+
+    private final OAuthClientInterceptor interceptor;
+
+    public OAuthExchangeFilter(OAuthClientInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return authorizationHeader().flatMap(header -> next.exchange(ClientRequest.from(request)
+                .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, header))
+                .build()));
+    }
+
+    private Mono<String> authorizationHeader() {
+        String cached = interceptor.cachedAuthorizationHeader();
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(interceptor::authorizationHeader).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,264 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Innermost interceptor, so each call into the execution below is one attempt on the wire:
+ * <ul>
+ *     <li>adaptive concurrency limit ({@link ConcurrencyLimit}) on attempts waiting for response headers;
+ *     callers wait up to {@code max-wait} for a slot and are then rejected. An attempt counts as congested
+ *     when it fails with an I/O error, gets a 429 or 503, or takes over {@code rtt-tolerance} x its
+ *     operation's typical latency.</li>
+ *     <li>circuit breaker over I/O errors and 5xx responses; rejects while open</li>
+ *     <li>retries with exponential backoff and full jitter for idempotent methods on I/O errors, 429 and
+ *     502-504 (honouring Retry-After up to the max delay). Any method is retried when the connection could
+ *     not be made, since nothing was sent.</li>
+ * </ul>
+ * Response timeouts come from {@link AdaptiveTimeouts}, which this feeds with the latency of every attempt
+ * that got a response. Rejections throw {@link CallNotPermittedException}.
+ */
+@Component
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    static final Set<HttpMethod> IDEMPOTENT = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+            HttpMethod.PUT, HttpMethod.DELETE);
+    static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+    static final Set<Integer> OVERLOAD_STATUS = Set.of(429, 503);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final ConcurrencyLimit limit;
+    private final long limitWaitNanos;
+    private final double rttTolerance;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveTimeouts timeouts;
+
+    private final MeterProvider<Counter> retries;
+    private final MeterProvider<Counter> rejected;
+
+    public ResilienceInterceptor(@Value("${rest.template.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${rest.template.retry.base-delay:50ms}") Duration baseDelay,
+                                 @Value("${rest.template.retry.max-delay:1s}") Duration maxDelay,
+                                 @Value("${rest.template.limit.initial:20}") int initialLimit,
+                                 @Value("${rest.template.limit.min:1}") int minLimit,
+                                 @Value("${rest.template.limit.max:200}") int maxLimit,
+                                 @Value("${rest.template.limit.max-wait:100ms}") Duration maxWait,
+                                 @Value("${rest.template.limit.rtt-tolerance:2}") double rttTolerance,
+                                 @Value("${rest.template.circuit.window-size:20}") int windowSize,
+                                 @Value("${rest.template.circuit.minimum-calls:10}") int minimumCalls,
+                                 @Value("${rest.template.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                                 @Value("${rest.template.circuit.probe-calls:3}") int probeCalls,
+                                 @Value("${rest.template.circuit.open-duration:10s}") Duration openDuration,
+                                 AdaptiveTimeouts timeouts,
+                                 MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.limit = new ConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        this.limitWaitNanos = maxWait.toNanos();
+        this.rttTolerance = rttTolerance;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, probeCalls, openDuration);
+        this.timeouts = timeouts;
+
+        this.retries = Counter.builder("beer.client.retries")
+                .description("Retried attempts against the beer service")
+                .withRegistry(meterRegistry);
+        this.rejected = Counter.builder("beer.client.rejected")
+                .description("Calls rejected without reaching the beer service")
+                .withRegistry(meterRegistry);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("beer.client.circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .description("1 for the circuit breaker's current state")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("beer.client.concurrency.limit", limit, ConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent attempts")
+                .register(meterRegistry);
+        Gauge.builder("beer.client.concurrency.in.flight", limit, ConcurrencyLimit::inFlight)
+                .description("Attempts waiting for the beer service")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            ClientHttpResponse response = null;
+            IOException failure = null;
+
+            long acquiredAt = acquireLimit();
+            boolean sampled = false;
+            boolean congested = false;
+            try {
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    rejected.withTags("reason", "circuit_open").increment();
+                    throw new CallNotPermittedException("Circuit breaker is open for " + request.getURI().getHost());
+                }
+
+                long start = System.nanoTime();
+                boolean success = false;
+                try {
+                    response = execution.execute(request, body);
+                    success = !response.getStatusCode().is5xxServerError();
+                    long nanos = System.nanoTime() - start;
+                    congested = OVERLOAD_STATUS.contains(response.getStatusCode().value())
+                            || isSlow(request, nanos);
+                    timeouts.record(request.getMethod(), request.getURI(), nanos);
+                } catch (IOException e) {
+                    failure = e;
+                    congested = true;
+                } finally {
+                    if (isPoolWaitTimeout(failure) || Thread.currentThread().isInterrupted()) {
+                        // our own pool is saturated, or the caller gave up (e.g. a hedge that lost);
+                        // either way it says nothing about the beer service
+                        circuitBreaker.onIgnored();
+                    } else if (response != null || failure != null) {
+                        sampled = true;
+                        circuitBreaker.onResult(success);
+                    } else {
+                        // a RuntimeException or Error from below, such as a request that could not be
+                        // written; only I/O errors and 5xx responses speak for the beer service
+                        circuitBreaker.onIgnored();
+                    }
+                }
+            } finally {
+                if (sampled) {
+                    limit.release(acquiredAt, congested);
+                } else {
+                    limit.release();
+                }
+            }
+
+            String reason = Thread.currentThread().isInterrupted() ? null
+                    : retryReason(request.getMethod(), response, failure);
+            if (reason == null || attempt >= maxAttempts) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            long delay = backoffMillis(attempt, response);
+            if (response != null) {
+                response.close();
+            }
+            retries.withTags("method", request.getMethod().name(), "reason", reason).increment();
+            sleep(delay);
+        }
+    }
+
+    private long acquireLimit() {
+        try {
+            long acquiredAt = limit.tryAcquire(limitWaitNanos);
+            if (acquiredAt == -1) {
+                rejected.withTags("reason", "limit_exceeded").increment();
+                throw new CallNotPermittedException("Concurrency limit of " + limit.limit() + " reached");
+            }
+            return acquiredAt;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CallNotPermittedException("Interrupted waiting under the concurrency limit");
+        }
+    }
+
+    private boolean isSlow(HttpRequest request, long nanos) {
+        long typical = timeouts.typicalNanos(request.getMethod(), request.getURI());
+        return typical > 0 && nanos > typical * rttTolerance;
+    }
+
+    /**
+     * Whether the attempt timed out waiting for a connection from our own pool: Apache's
+     * {@link ConnectionRequestTimeoutException}, or with {@code HTTP_2} Reactor Netty's
+     * {@code PoolAcquireTimeoutException}, which {@code ReactorClientHttpRequest} wraps in a plain
+     * {@link IOException}. It is matched by name since Reactor Netty shades its pool package.
+     */
+    static boolean isPoolWaitTimeout(IOException failure) {
+        if (failure instanceof ConnectionRequestTimeoutException) {
+            return true;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause.getClass().getSimpleName().equals("PoolAcquireTimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the tag value for why the attempt should be retried, or {@code null} if it should not
+     */
+    private static String retryReason(HttpMethod method, ClientHttpResponse response, IOException failure) throws IOException {
+        if (failure instanceof ConnectException || failure instanceof ConnectTimeoutException) {
+            return "connect";
+        }
+        if (!IDEMPOTENT.contains(method) || isPoolWaitTimeout(failure)) {
+            return null;
+        }
+        if (failure instanceof InterruptedIOException && !(failure instanceof SocketTimeoutException)) {
+            return null;
+        }
+        if (failure != null) {
+            return "io";
+        }
+        int status = response.getStatusCode().value();
+        return RETRYABLE_STATUS.contains(status) ? String.valueOf(status) : null;
+    }
+
+    /**
+     * Full jitter: uniform in [0, min(max, base * 2^(attempt-1))], raised to Retry-After when the server
+     * sent one, never above the max delay.
+     */
+    private long backoffMillis(int attempt, ClientHttpResponse response) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        if (response != null) {
+            String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null && !retryAfter.isEmpty() && retryAfter.chars().allMatch(Character::isDigit)) {
+                delay = Math.max(delay, Math.min(maxDelayMillis, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter))));
+            }
+        }
+        return delay;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff");
+        }
+    }
+
+    int concurrencyLimit() {
+        return limit.limit();
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+}
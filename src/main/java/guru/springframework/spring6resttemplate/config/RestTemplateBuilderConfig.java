@@ -1,22 +1,91 @@
 package guru.springframework.spring6resttemplate.config;
 
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import guru.springframework.spring6resttemplate.client.BeerClientMetrics;
+import guru.springframework.spring6resttemplate.client.BeerRequestUris;
+import guru.springframework.spring6resttemplate.client.PageReader;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class RestTemplateBuilderConfig {
 
-    @Value("${rest.template.rootUrl}")
-    String rootUrl;
+    /**
+     * Replicas of the beer service; defaults to the single {@code rest.template.rootUrl}.
+     */
+    @Value("${rest.template.rootUrls:${rest.template.rootUrl}}")
+    List<String> rootUrls;
+
+    @Value("${rest.template.pool.max-total:100}")
+    int maxTotalConnections;
+
+    @Value("${rest.template.pool.max-per-route:20}")
+    int maxConnectionsPerRoute;
+
+    @Value("${rest.template.pool.idle-timeout:30s}")
+    Duration idleTimeout;
+
+    @Value("${rest.template.pool.time-to-live:5m}")
+    Duration connectionTimeToLive;
+
+    @Value("${rest.template.timeout.connect:2s}")
+    Duration connectTimeout;
+
+    @Value("${rest.template.lb.eject-after-failures:3}")
+    int ejectAfterFailures;
+
+    @Value("${rest.template.lb.ejection-time:10s}")
+    Duration ejectionTime;
+
+    @Value("${rest.template.lb.max-ejection-time:5m}")
+    Duration maxEjectionTime;
+
+    /**
+     * Send {@code Accept-Encoding: gzip, x-gzip, deflate} and transparently inflate compressed responses.
+     */
+    @Value("${rest.template.compression:true}")
+    boolean compression;
+
+    @Value("${rest.template.wire-format:JSON}")
+    WireFormat wireFormat;
+
+    @Value("${rest.template.http-version:HTTP_1_1}")
+    HttpProtocolVersion httpVersion;
 
     @Bean
     OAuth2AuthorizedClientManager auth2AuthorizedClientManager(
@@ -33,14 +102,143 @@ public class RestTemplateBuilderConfig {
         return authorizedClientManager;
     }
 
+    /**
+     * Jackson recycles parser buffers per thread by default, which recycles nothing when every call runs on
+     * its own virtual thread; share one pool across threads instead.
+     */
+    @Bean
+    Jackson2ObjectMapperBuilderCustomizer sharedJsonBufferPool() {
+        return builder -> builder.postConfigurer(objectMapper ->
+                objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+    }
+
+    /**
+     * One pool per replica; the pool sizes apply to each of them.
+     */
+    PoolingHttpClientConnectionManager beerConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotalConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.of(connectionTimeToLive))
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Keep-alive client for one replica, built once per root URL and owned (and closed) by that endpoint's
+     * request factory. Every RestTemplate built from {@link #restTemplateBuilder} goes through it, so
+     * connections (and their TLS sessions) are reused across calls instead of being opened per request.
+     */
+    CloseableHttpClient beerHttpClient(PoolingHttpClientConnectionManager beerConnectionManager) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(beerConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout));
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * HTTP/2 client for one replica. The adaptive timeout is applied per request as the response timeout;
+     * {@code pool.max-per-route} caps connections, each carrying as many streams as the server allows.
+     */
+    ClientHttpRequestFactory beerHttp2RequestFactory(String rootUrl, ConnectionProvider connectionProvider,
+                                                     AdaptiveTimeouts timeouts) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .compress(compression)
+                .doOnRequest((request, connection) -> request.responseTimeout(Duration.ofMillis(timeouts.timeoutMillis(
+                        HttpMethod.valueOf(request.method().name()), URI.create(request.resourceUrl())))));
+        httpClient = rootUrl.startsWith("https:")
+                ? httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                : httpClient.protocol(HttpProtocol.H2C);
+        return new ReactorClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Shared by the {@code HTTP_2} endpoints. Its gauges ({@code reactor.netty.connection.provider.*}, streams
+     * included, tagged with the remote address) go to Micrometer's global registry, which Boot adds its own
+     * registry to.
+     */
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider beerHttp2ConnectionProvider() {
+        return ConnectionProvider.builder("beer-client")
+                .allocationStrategy(Http2AllocationStrategy.builder()
+                        .minConnections(1)
+                        .maxConnections(maxConnectionsPerRoute)
+                        .build())
+                .pendingAcquireTimeout(connectTimeout)
+                .maxIdleTime(idleTimeout)
+                .maxLifeTime(connectionTimeToLive)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * A pooled HttpClient per root URL behind a load-balancing factory. Pool gauges
+     * ({@code httpcomponents.httpclient.pool.*}) are tagged with the endpoint. With {@code http-version=HTTP_2}
+     * each root URL gets a multiplexing Reactor Netty client instead, and the pool gauges are Reactor Netty's
+     * (see {@link #beerHttp2ConnectionProvider()}).
+     */
+    @Bean
+    LoadBalancingRequestFactory beerRequestFactory(AdaptiveTimeouts timeouts, MeterRegistry meterRegistry,
+                                                   ConnectionProvider beerHttp2ConnectionProvider) {
+        List<LoadBalancingRequestFactory.Endpoint> endpoints = rootUrls.stream()
+                .map(rootUrl -> {
+                    if (httpVersion == HttpProtocolVersion.HTTP_2) {
+                        return new LoadBalancingRequestFactory.Endpoint(URI.create(rootUrl),
+                                beerHttp2RequestFactory(rootUrl, beerHttp2ConnectionProvider, timeouts));
+                    }
+                    PoolingHttpClientConnectionManager connectionManager = beerConnectionManager();
+                    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "beer-client",
+                            "endpoint", rootUrl).bindTo(meterRegistry);
+
+                    var requestFactory = new HttpComponentsClientHttpRequestFactory(beerHttpClient(connectionManager));
+                    requestFactory.setHttpContextFactory(timeouts::httpContext);
+                    return new LoadBalancingRequestFactory.Endpoint(URI.create(rootUrl), requestFactory);
+                })
+                .toList();
+
+        return new LoadBalancingRequestFactory(endpoints, ejectAfterFailures, ejectionTime, maxEjectionTime,
+                meterRegistry);
+    }
+
     @Bean
     RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
-                                            OAuthClientInterceptor interceptor){
+                                            OAuthClientInterceptor interceptor,
+                                            BeerClientMetrics metrics,
+                                            ResilienceInterceptor resilienceInterceptor,
+                                            LoadBalancingRequestFactory beerRequestFactory){
 
-        assert rootUrl != null;
+        assert !rootUrls.isEmpty();
 
-        return configurer.configure(new RestTemplateBuilder())
-                .additionalInterceptors(interceptor)
-                .uriTemplateHandler(new DefaultUriBuilderFactory(rootUrl));
+        RestTemplateBuilder builder = configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> beerRequestFactory)
+                .uriTemplateHandler(new DefaultUriBuilderFactory(rootUrls.getFirst()));
+        if (wireFormat != WireFormat.JSON) {
+            builder = builder.additionalInterceptors(new WireFormatInterceptor(wireFormat));
+        }
+        // order matters: the resilience interceptor must stay last so that it can re-execute the request
+        return builder.additionalInterceptors(interceptor, metrics, resilienceInterceptor);
+    }
+
+    @Bean
+    RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+        return restTemplateBuilder.build();
+    }
+
+    @Bean
+    PageReader<BeerDTO> beerPageReader(RestTemplate restTemplate) {
+        return new PageReader<>(restTemplate.getMessageConverters(), BeerDTO.class);
+    }
+
+    @Bean
+    BeerRequestUris beerRequestUris(RestTemplate restTemplate) {
+        return new BeerRequestUris(restTemplate.getUriTemplateHandler());
     }
 }
@@ -0,0 +1,26 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * WebClient for {@link guru.springframework.spring6resttemplate.client.ReactiveBeerClientImpl}. It is built from
+ * Boot's {@link WebClient.Builder}, so it gets the application's Jackson codecs and {@code http.client.requests}
+ * observations, and it authenticates through {@link OAuthExchangeFilter}.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Value("${rest.template.rootUrl}")
+    String rootUrl;
+
+    @Bean
+    WebClient beerWebClient(WebClient.Builder builder, OAuthClientInterceptor oAuthClientInterceptor) {
+        return builder
+                .baseUrl(rootUrl)
+                .filter(new OAuthExchangeFilter(oAuthClientInterceptor))
+                .build();
+    }
+}
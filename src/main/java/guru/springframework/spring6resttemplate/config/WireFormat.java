@@ -0,0 +1,25 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Representation the client asks the beer service for ({@code rest.template.wire-format}). The binary
+ * formats are Jackson's Smile and CBOR: same data model as JSON, but field names can be back-referenced
+ * (Smile) and numbers are not text, so pages are smaller and cheaper to parse. Request bodies stay JSON.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
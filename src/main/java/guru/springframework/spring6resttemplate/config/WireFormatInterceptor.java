@@ -0,0 +1,47 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Makes the preferred {@link WireFormat} win content negotiation. RestTemplate lists every media type its
+ * converters can read with equal weight, so the server would pick its own favourite (usually JSON); this moves
+ * the preferred type to the front and gives the rest a lower quality, which keeps JSON as the fallback for
+ * servers that don't speak the binary format. Requests whose response type the binary converter cannot read
+ * (no preferred type in Accept) are left alone.
+ */
+class WireFormatInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String FALLBACK_QUALITY = "0.5";
+
+    private final MediaType preferred;
+
+    WireFormatInterceptor(WireFormat wireFormat) {
+        this.preferred = wireFormat.getMediaType();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        List<MediaType> accept = request.getHeaders().getAccept();
+
+        if (accept.stream().anyMatch(preferred::equalsTypeAndSubtype)) {
+            List<MediaType> negotiated = new ArrayList<>(accept.size());
+            negotiated.add(preferred);
+            for (MediaType mediaType : accept) {
+                if (!preferred.equalsTypeAndSubtype(mediaType)) {
+                    negotiated.add(new MediaType(mediaType, Map.of("q", FALLBACK_QUALITY)));
+                }
+            }
+            request.getHeaders().setAccept(negotiated);
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,17 @@
+package guru.springframework.spring6resttemplate.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the beer change feed ({@code GET /api/v1/beer/changes}): beers created or updated after the
+ * requested watermark in {@code (updateDate, id)} order, ids deleted since then, and the watermark to continue
+ * from. {@code hasMore} is set when the page was cut short by the page size.
+ */
+public record BeerChanges(List<BeerDTO> changed, List<UUID> deleted, SyncWatermark watermark, boolean hasMore) {
+
+    public BeerChanges {
+        changed = changed == null ? List.of() : changed;
+        deleted = deleted == null ? List.of() : deleted;
+    }
+}
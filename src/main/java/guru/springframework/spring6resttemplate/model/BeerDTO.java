@@ -1,5 +1,6 @@
 package guru.springframework.spring6resttemplate.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,8 +9,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 
-@Builder
+@Builder(toBuilder = true)
 @Data
+@JsonDeserialize(using = BeerDTODeserializer.class)
 public class BeerDTO {
     private UUID id;
     private Integer version;
@@ -0,0 +1,245 @@
+package guru.springframework.spring6resttemplate.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Binds a {@link BeerDTO} straight from the token stream instead of through bean introspection and the
+ * properties-based creator. Ids, ISO timestamps, styles and string prices are read off the parser's own character
+ * buffer, so no intermediate {@code String} is made for them; binary UUIDs (as Smile and CBOR write them) are read
+ * from their 16 bytes. Anything in another shape (date arrays, numbers as strings, unknown properties) is handed
+ * to the regular deserializers, so features and error messages stay those of the {@code ObjectMapper}.
+ */
+public class BeerDTODeserializer extends StdDeserializer<BeerDTO> {
+
+    private static final BeerStyle[] STYLES = BeerStyle.values();
+
+    public BeerDTODeserializer() {
+        super(BeerDTO.class);
+    }
+
+    @Override
+    public BeerDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (BeerDTO) ctxt.handleUnexpectedToken(BeerDTO.class, p);
+        }
+
+        UUID id = null;
+        Integer version = null;
+        String beerName = null;
+        BeerStyle beerStyle = null;
+        String upc = null;
+        Integer quantityOnHand = null;
+        BigDecimal price = null;
+        LocalDateTime createdDate = null;
+        LocalDateTime updateDate = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> id = readUuid(p, ctxt, value);
+                case "version" -> version = readInteger(p, ctxt, value);
+                case "beerName" -> beerName = readString(p, ctxt, value);
+                case "beerStyle" -> beerStyle = readStyle(p, ctxt, value);
+                case "upc" -> upc = readString(p, ctxt, value);
+                case "quantityOnHand" -> quantityOnHand = readInteger(p, ctxt, value);
+                case "price" -> price = readDecimal(p, ctxt, value);
+                case "createdDate" -> createdDate = readDateTime(p, ctxt, value);
+                case "updateDate" -> updateDate = readDateTime(p, ctxt, value);
+                default -> handleUnknownProperty(p, ctxt, BeerDTO.class, field);
+            }
+        }
+        return new BeerDTO(id, version, beerName, beerStyle, upc, quantityOnHand, price, createdDate, updateDate);
+    }
+
+    private static UUID readUuid(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING && p.getTextLength() == 36) {
+            UUID uuid = parseUuid(p.getTextCharacters(), p.getTextOffset());
+            if (uuid != null) {
+                return uuid;
+            }
+        } else if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            byte[] bytes = p.getBinaryValue();
+            if (bytes.length == 16) {
+                return new UUID(longAt(bytes, 0), longAt(bytes, 8));
+            }
+        }
+        return ctxt.readValue(p, UUID.class);
+    }
+
+    /**
+     * @return the UUID in {@code 8-4-4-4-12} hex form at {@code offset}, or {@code null} if it is not one
+     */
+    static UUID parseUuid(char[] chars, int offset) {
+        if (chars[offset + 8] != '-' || chars[offset + 13] != '-' || chars[offset + 18] != '-'
+                || chars[offset + 23] != '-') {
+            return null;
+        }
+        long a = hex(chars, offset, 8);
+        long b = hex(chars, offset + 9, 4);
+        long c = hex(chars, offset + 14, 4);
+        long d = hex(chars, offset + 19, 4);
+        long e = hex(chars, offset + 24, 12);
+        if ((a | b | c | d | e) < 0) {
+            return null;
+        }
+        return new UUID(a << 32 | b << 16 | c, d << 48 | e);
+    }
+
+    /**
+     * @return the value of {@code length} (at most 15) hex digits, or -1 if there is anything else
+     */
+    private static long hex(char[] chars, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = Character.digit(chars[i], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static long longAt(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = value << 8 | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static Integer readInteger(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NUMBER_INT ? p.getIntValue() : ctxt.readValue(p, Integer.class);
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_STRING ? p.getText() : ctxt.readValue(p, String.class);
+    }
+
+    private static BeerStyle readStyle(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            char[] chars = p.getTextCharacters();
+            int offset = p.getTextOffset();
+            int length = p.getTextLength();
+            for (BeerStyle style : STYLES) {
+                if (matches(style.name(), chars, offset, length)) {
+                    return style;
+                }
+            }
+        }
+        return ctxt.readValue(p, BeerStyle.class);
+    }
+
+    private static boolean matches(String name, char[] chars, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (NumberFormatException e) {
+                // let the regular deserializer report it
+            }
+        }
+        return ctxt.readValue(p, BigDecimal.class);
+    }
+
+    private static LocalDateTime readDateTime(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            LocalDateTime dateTime = parseDateTime(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return ctxt.readValue(p, LocalDateTime.class);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]}, the ISO form the beer service writes.
+     *
+     * @return the date-time, or {@code null} if the text is in any other form
+     */
+    static LocalDateTime parseDateTime(char[] chars, int offset, int length) {
+        if (length < 16 || chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = 0;
+        int nano = 0;
+
+        int end = offset + length;
+        int at = offset + 16;
+        if (at < end) {
+            if (chars[at] != ':' || at + 3 > end) {
+                return null;
+            }
+            second = digits(chars, at + 1, 2);
+            at += 3;
+            if (at < end) {
+                int fractionDigits = end - at - 1;
+                if (chars[at] != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return null;
+                }
+                nano = digits(chars, at + 1, fractionDigits);
+                for (int i = fractionDigits; i < 9 && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the decimal value of {@code length} ASCII digits, or -1 if there is anything else
+     */
+    private static int digits(char[] chars, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
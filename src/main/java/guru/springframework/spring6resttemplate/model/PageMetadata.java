@@ -0,0 +1,11 @@
+package guru.springframework.spring6resttemplate.model;
+
+/**
+ * Paging fields of a beer page response, for callers that consume the content as a stream.
+ */
+public record PageMetadata(int number, int size, long totalElements) {
+
+    public int totalPages() {
+        return size == 0 ? 1 : (int) Math.ceil((double) totalElements / (double) size);
+    }
+}
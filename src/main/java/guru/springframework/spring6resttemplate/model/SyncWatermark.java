@@ -0,0 +1,26 @@
+package guru.springframework.spring6resttemplate.model;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in the beer change feed: the last {@code updateDate} seen and, to break ties between beers updated
+ * at the same instant, the id of the last beer seen with it. A {@code null} id means "everything at or after
+ * {@code updateDate}".
+ */
+public record SyncWatermark(LocalDateTime updateDate, UUID id) implements Comparable<SyncWatermark> {
+
+    private static final Comparator<SyncWatermark> ORDER = Comparator
+            .comparing(SyncWatermark::updateDate)
+            .thenComparing(SyncWatermark::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    public static SyncWatermark of(BeerDTO beer) {
+        return new SyncWatermark(beer.getUpdateDate(), beer.getId());
+    }
+
+    @Override
+    public int compareTo(SyncWatermark other) {
+        return ORDER.compare(this, other);
+    }
+}
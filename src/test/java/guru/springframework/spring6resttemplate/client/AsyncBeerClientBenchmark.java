@@ -0,0 +1,110 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans out {@code fanOut} concurrent getBeerById calls through {@link AsyncBeerClientImpl} and waits for
+ * all of them, on either a fixed platform thread pool or one virtual thread per call. The stub adds
+ * {@code latencyMillis} per response and the connection pool is larger than the platform pool, so the
+ * platform variant is bounded by its thread count rather than by sockets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncBeerClientBenchmark {
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"50"})
+    int platformPoolSize;
+
+    @Param({"400"})
+    int maxConnections;
+
+    @Param({"4000"})
+    int fanOut;
+
+    @Param({"20"})
+    long latencyMillis;
+
+    StubBeerServer server;
+    CloseableHttpClient httpClient;
+    AsyncBeerClientImpl asyncBeerClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = StubBeerServer.start(25, latencyMillis);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .build())
+                .build();
+
+        RestTemplate restTemplate = new RestTemplateBuilder()
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .uriTemplateHandler(new DefaultUriBuilderFactory(server.getRootUrl()))
+                .build();
+        BeerClientImpl beerClient = new BeerClientImpl(restTemplate,
+                new BeerPageStreamReader(JsonMapper.builder().findAndAddModules().build()),
+                new PageReader<>(restTemplate.getMessageConverters(), BeerDTO.class),
+                new BeerRequestUris(restTemplate.getUriTemplateHandler()),
+                BeerCache.disabled(), BeerQueryCache.disabled(),
+                new BeerClientMetrics(new SimpleMeterRegistry()), HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+
+        ExecutorService executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformPoolSize);
+        asyncBeerClient = new AsyncBeerClientImpl(beerClient, executor, fanOut);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        asyncBeerClient.destroy();
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public BeerDTO getBeerByIdFanOut() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[fanOut];
+        for (int i = 0; i < fanOut; i++) {
+            calls[i] = asyncBeerClient.getBeerById(StubBeerServer.BEER_ID);
+        }
+        CompletableFuture.allOf(calls).join();
+        return (BeerDTO) calls[fanOut - 1].join();
+    }
+}
@@ -0,0 +1,119 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncBeerClientImplTest {
+
+    BeerDTO ipa = BeerCatalogTest.beer("Mango Bobs", BeerStyle.IPA);
+    BeerClient beerClient = mock(BeerClient.class);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    AsyncBeerClientImpl asyncBeerClient =
+            new AsyncBeerClientImpl(beerClient, Executors.newVirtualThreadPerTaskExecutor(), 2);
+
+    @AfterEach
+    void tearDown() {
+        asyncBeerClient.destroy();
+    }
+
+    @Test
+    void callsInFlightStayWithinMaxConcurrency() throws Exception {
+        when(beerClient.getBeerById(any())).thenAnswer(invocation -> blockUntilReleased());
+
+        List<CompletableFuture<BeerDTO>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(asyncBeerClient.getBeerById(UUID.randomUUID()));
+        }
+        await().atMost(5, TimeUnit.SECONDS).until(() -> running.get() == 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(running).hasValue(2);
+        release.countDown();
+
+        for (CompletableFuture<BeerDTO> call : calls) {
+            assertThat(call.get(5, TimeUnit.SECONDS)).isEqualTo(ipa);
+        }
+        assertThat(maxRunning).hasValue(2);
+    }
+
+    @Test
+    void failuresCompleteTheFuture() {
+        when(beerClient.getBeerById(any())).thenThrow(new IllegalStateException("beer service down"));
+
+        CompletableFuture<BeerDTO> call = asyncBeerClient.getBeerById(UUID.randomUUID());
+
+        assertThat(call).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .havingRootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .withMessage("beer service down");
+    }
+
+    @Test
+    void batchAndChangeFeedCallsAreDelegated() throws Exception {
+        BatchResult<BeerDTO> created = new BatchResult<>(List.of(new BatchResult.Item<>(0, ipa, null)));
+        when(beerClient.createBeers(List.of(ipa), 4, BatchProgressListener.NONE)).thenReturn(created);
+        when(beerClient.getBeersByIds(List.of(ipa.getId()), 4)).thenReturn(Map.of(ipa.getId(), ipa));
+
+        assertThat(asyncBeerClient.createBeers(List.of(ipa), 4, BatchProgressListener.NONE).get(5, TimeUnit.SECONDS))
+                .isSameAs(created);
+        assertThat(asyncBeerClient.getBeersByIds(List.of(ipa.getId()), 4).get(5, TimeUnit.SECONDS))
+                .containsEntry(ipa.getId(), ipa);
+    }
+
+    @Test
+    void destroyCancelsPendingCalls() {
+        when(beerClient.getBeerById(any())).thenAnswer(invocation -> blockUntilReleased());
+
+        List<CompletableFuture<BeerDTO>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(asyncBeerClient.getBeerById(UUID.randomUUID()));
+        }
+        await().atMost(5, TimeUnit.SECONDS).until(() -> running.get() == 2);
+
+        asyncBeerClient.destroy();
+
+        // running calls are interrupted; waiting ones fail before they start, unless a permit an interrupted
+        // call gave back reached them first, in which case they are interrupted too
+        for (CompletableFuture<BeerDTO> call : calls) {
+            assertThat(call).failsWithin(5, TimeUnit.SECONDS);
+            assertThat(causeOf(call)).isInstanceOfAny(InterruptedException.class, CancellationException.class);
+        }
+        assertThat(maxRunning).hasValue(2);
+    }
+
+    private BeerDTO blockUntilReleased() throws InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            release.await(10, TimeUnit.SECONDS);
+            return ipa;
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> call) {
+        return call.handle((value, error) -> error.getCause()).join();
+    }
+}
@@ -0,0 +1,39 @@
+package guru.springframework.spring6resttemplate.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchExecutorTest {
+
+    @Test
+    @Timeout(10)
+    void errorsAreRecordedAsFailuresWithoutStallingTheBatch() {
+        List<int[]> progress = new CopyOnWriteArrayList<>();
+        BatchResult<Integer> result;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            result = BatchExecutor.run(List.of(1, 2, 3, 4), i -> {
+                if (i % 2 == 0) {
+                    throw new AssertionError("item " + i);
+                }
+                return i;
+            }, 1, (completed, failed, total) -> progress.add(new int[]{completed, failed}), executor);
+        }
+
+        assertThat(result.succeeded()).containsExactly(1, 3);
+        assertThat(result.failed()).extracting(BatchResult.Item::index).containsExactly(1, 3);
+        assertThat(result.failed().getFirst().error()).isInstanceOf(AssertionError.class);
+
+        assertThat(progress).extracting(counts -> counts[0]).containsExactlyInAnyOrder(1, 2, 3, 4);
+        assertThat(progress).allMatch(counts -> counts[1] <= counts[0] && counts[1] <= 2);
+        assertThat(progress).filteredOn(counts -> counts[0] == 4).singleElement()
+                .satisfies(counts -> assertThat(counts[1]).isEqualTo(2));
+    }
+}
@@ -0,0 +1,65 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code listBeers} answered from a {@link BeerCatalog} snapshot: a style page, a name search, a name prefix
+ * lookup and a late page of the unfiltered catalog. Compare with {@code BeerClientBenchmark.listBeers} for the
+ * remote call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BeerCatalogBenchmark {
+
+    @Param({"10000", "100000"})
+    int catalogSize;
+
+    BeerCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        List<BeerDTO> beers = StubBeerServer.page(catalogSize).getContent();
+        catalog = BeerCatalog.of(beers);
+    }
+
+    @Benchmark
+    public Page<BeerDTO> byStyle() {
+        return catalog.listBeers(null, BeerStyle.IPA, true, 3, 25);
+    }
+
+    @Benchmark
+    public Page<BeerDTO> byName() {
+        return catalog.listBeers("Beer 42", null, true, 1, 25);
+    }
+
+    @Benchmark
+    public Page<BeerDTO> byNamePrefix() {
+        return catalog.listBeersByNamePrefix("Stub Beer 42", null, true, 1, 25);
+    }
+
+    @Benchmark
+    public Page<BeerDTO> lastPage() {
+        return catalog.listBeers(null, null, true, catalogSize / 25, 25);
+    }
+}
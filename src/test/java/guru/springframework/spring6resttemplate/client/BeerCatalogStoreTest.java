@@ -0,0 +1,74 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerCatalogStoreTest {
+
+    @TempDir
+    Path directory;
+
+    BeerDTO ipa = BeerCatalogTest.beer("Mango Bobs", BeerStyle.IPA);
+    BeerDTO unnamed = BeerDTO.builder().id(UUID.randomUUID()).build();
+    BeerCatalog catalog = BeerCatalog.of(List.of(ipa, unnamed, BeerCatalogTest.beer("Ünterhaus", BeerStyle.LAGER)));
+    SyncWatermark watermark = new SyncWatermark(LocalDateTime.of(2024, 6, 1, 12, 0), ipa.getId());
+
+    @Test
+    void snapshotRoundTrips() throws IOException {
+        BeerCatalogStore store = store();
+        store.save(catalog, watermark);
+
+        BeerCatalogStore.Snapshot snapshot = store.load().orElseThrow();
+
+        assertThat(snapshot.watermark()).isEqualTo(watermark);
+        assertThat(snapshot.catalog().listBeers(null, null, null, null, null).getContent())
+                .isEqualTo(catalog.listBeers(null, null, null, null, null).getContent());
+        assertThat(snapshot.catalog().find(unnamed.getId())).isEqualTo(unnamed);
+        assertThat(Files.list(directory)).containsExactly(directory.resolve("catalog.bin"));
+    }
+
+    @Test
+    void corruptSnapshotIsIgnored() throws IOException {
+        BeerCatalogStore store = store();
+        store.save(catalog, watermark);
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("catalog.bin").toFile(), "rw")) {
+            file.seek(file.length() / 2);
+            int b = file.read();
+            file.seek(file.length() / 2);
+            file.write(b ^ 0xFF);
+        }
+
+        assertThat(store.load()).isEmpty();
+    }
+
+    @Test
+    void otherSchemaVersionIsIgnored() throws IOException {
+        BeerCatalogStore store = store();
+        store.save(catalog, null);
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("catalog.bin").toFile(), "rw")) {
+            file.seek(Integer.BYTES);
+            file.writeShort(BeerCatalogStore.SCHEMA_VERSION + 1);
+        }
+
+        assertThat(store.load()).isEmpty();
+    }
+
+    private BeerCatalogStore store() {
+        return new BeerCatalogStore(directory.resolve("catalog.bin").toString());
+    }
+}
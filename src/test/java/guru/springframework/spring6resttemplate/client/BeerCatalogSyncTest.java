@@ -0,0 +1,115 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerChanges;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BeerCatalogSyncTest {
+
+    static final LocalDateTime T0 = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    BeerClient beerClient = mock(BeerClient.class);
+    BeerCatalogSync sync = new BeerCatalogSync(beerClient, Duration.ofDays(7), 100, BeerCatalogStore.disabled());
+
+    BeerDTO ale = beer("Ale", 1, T0);
+    BeerDTO stout = beer("Stout", 1, T0.plusMinutes(1));
+
+    @BeforeEach
+    void setUp() {
+        when(beerClient.streamBeers(isNull(), isNull(), isNull(), eq(100)))
+                .thenAnswer(invocation -> List.of(ale, stout).stream());
+    }
+
+    @Test
+    void firstSyncIsFullAndLaterOnesOnlyFetchChanges() {
+        BeerCatalogSync.Result first = sync.sync();
+        assertThat(first.fullResync()).isTrue();
+        assertThat(sync.catalog().size()).isEqualTo(2);
+        assertThat(first.watermark().updateDate()).isBefore(stout.getUpdateDate());
+
+        BeerDTO renamed = ale.toBuilder().beerName("Pale Ale").version(2).updateDate(T0.plusMinutes(5)).build();
+        SyncWatermark page1 = SyncWatermark.of(renamed);
+        SyncWatermark page2 = new SyncWatermark(T0.plusMinutes(6), stout.getId());
+        when(beerClient.getBeerChanges(first.watermark(), 100))
+                .thenReturn(new BeerChanges(List.of(renamed), List.of(), page1, true));
+        when(beerClient.getBeerChanges(page1, 100))
+                .thenReturn(new BeerChanges(List.of(), List.of(stout.getId()), page2, false));
+
+        BeerCatalogSync.Result delta = sync.sync();
+
+        assertThat(delta).isEqualTo(new BeerCatalogSync.Result(false, 1, 1, page2));
+        assertThat(sync.catalog().size()).isEqualTo(1);
+        assertThat(sync.catalog().find(ale.getId()).getBeerName()).isEqualTo("Pale Ale");
+        verify(beerClient, times(1)).streamBeers(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void olderVersionDoesNotOverwrite() {
+        sync.sync();
+        BeerDTO newer = ale.toBuilder().version(3).beerName("Newer").build();
+        BeerDTO replayed = ale.toBuilder().version(2).beerName("Replayed").build();
+        when(beerClient.getBeerChanges(sync.watermark(), 100))
+                .thenReturn(new BeerChanges(List.of(newer, replayed), List.of(), SyncWatermark.of(newer), false));
+
+        assertThat(sync.sync().changed()).isEqualTo(1);
+        assertThat(sync.catalog().find(ale.getId()).getBeerName()).isEqualTo("Newer");
+    }
+
+    @Test
+    void goneWatermarkFallsBackToFullResync() {
+        sync.sync();
+        when(beerClient.getBeerChanges(any(), anyInt())).thenThrow(
+                HttpClientErrorException.create(HttpStatus.GONE, "Gone", null, null, null));
+
+        BeerCatalogSync.Result result = sync.sync();
+
+        assertThat(result.fullResync()).isTrue();
+        assertThat(sync.catalog().size()).isEqualTo(2);
+        verify(beerClient, times(2)).streamBeers(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void restoredSnapshotContinuesWithADelta(@TempDir Path directory) throws IOException {
+        BeerCatalogStore store = new BeerCatalogStore(directory.resolve("catalog.bin").toString());
+        new BeerCatalogSync(beerClient, Duration.ofDays(7), 100, store).sync();
+
+        BeerCatalogSync restarted = new BeerCatalogSync(beerClient, Duration.ofDays(7), 100, store);
+        assertThat(restarted.catalog().size()).isEqualTo(2);
+        when(beerClient.getBeerChanges(restarted.watermark(), 100))
+                .thenReturn(new BeerChanges(List.of(), List.of(), restarted.watermark(), false));
+
+        assertThat(restarted.sync().fullResync()).isFalse();
+        verify(beerClient, times(1)).streamBeers(any(), any(), any(), anyInt());
+    }
+
+    static BeerDTO beer(String name, int version, LocalDateTime updateDate) {
+        return BeerDTO.builder()
+                .id(UUID.randomUUID())
+                .beerName(name)
+                .version(version)
+                .updateDate(updateDate)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerCatalogTest {
+
+    BeerDTO mango = beer("Mango Bobs", BeerStyle.IPA);
+    BeerDTO galaxy = beer("Galaxy Cat", BeerStyle.PALE_ALE);
+    BeerDTO crank = beer("crank", BeerStyle.IPA);
+    BeerDTO sunshine = beer("Sunshine City", BeerStyle.IPA);
+
+    BeerCatalog catalog = BeerCatalog.of(List.of(mango, galaxy, crank, sunshine));
+
+    @Test
+    void everyFieldSurvivesTheColumns() {
+        assertThat(catalog.find(mango.getId())).isEqualTo(mango);
+        assertThat(catalog.find(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    void filtersAndPagesLikeTheBeerService() {
+        Page<BeerDTO> ipas = catalog.listBeers(null, BeerStyle.IPA, null, 1, 2);
+
+        assertThat(ipas.getContent()).extracting(BeerDTO::getBeerName).containsExactly("crank", "Mango Bobs");
+        assertThat(ipas.getTotalElements()).isEqualTo(3);
+        assertThat(catalog.listBeers(null, BeerStyle.IPA, null, 2, 2).getContent())
+                .extracting(BeerDTO::getBeerName).containsExactly("Sunshine City");
+
+        assertThat(catalog.listBeers("AN", null, null, null, null).getContent())
+                .extracting(BeerDTO::getBeerName).containsExactly("crank", "Mango Bobs");
+        assertThat(catalog.listBeers("cat", BeerStyle.IPA, null, null, null).getContent()).isEmpty();
+        assertThat(catalog.listBeers("gal", null, false, null, null).getContent())
+                .singleElement().satisfies(beer -> assertThat(beer.getQuantityOnHand()).isNull());
+    }
+
+    @Test
+    void namePrefixIsARange() {
+        assertThat(catalog.listBeersByNamePrefix("S", null, null, null, null).getContent())
+                .extracting(BeerDTO::getBeerName).containsExactly("Sunshine City");
+        assertThat(catalog.listBeersByNamePrefix("c", BeerStyle.IPA, null, null, null).getContent())
+                .extracting(BeerDTO::getBeerName).containsExactly("crank");
+        assertThat(catalog.listBeersByNamePrefix("x", null, null, null, null).getTotalElements()).isZero();
+    }
+
+    @Test
+    void changesProduceANewSnapshot() {
+        BeerDTO renamed = mango.toBuilder().beerName("Alpha Mango").version(2).build();
+        BeerDTO added = beer("Zesty", BeerStyle.GOSE);
+
+        BeerCatalog next = catalog.with(List.of(renamed, added), List.of(galaxy.getId()));
+
+        assertThat(next.listBeers(null, null, null, null, null).getContent()).extracting(BeerDTO::getBeerName)
+                .containsExactly("Alpha Mango", "crank", "Sunshine City", "Zesty");
+        assertThat(next.version(mango.getId())).isEqualTo(2);
+        assertThat(catalog.find(galaxy.getId())).isEqualTo(galaxy);
+        assertThat(catalog.version(mango.getId())).isEqualTo(1);
+    }
+
+    static BeerDTO beer(String name, BeerStyle style) {
+        return BeerDTO.builder()
+                .id(UUID.randomUUID())
+                .version(1)
+                .beerName(name)
+                .beerStyle(style)
+                .upc("12356")
+                .quantityOnHand(122)
+                .price(new BigDecimal("12.99"))
+                .createdDate(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789))
+                .updateDate(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.stub.StubApplicationContext;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link BeerClient} operation through the application's own beans (pooled transport, OAuth
+ * interceptor against the stub token endpoint). Throughput plus sampled latency percentiles; add
+ * {@code -prof gc} (the benchmark profile does) for allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class BeerClientBenchmark {
+
+    StubBeerServer server;
+    ConfigurableApplicationContext context;
+    BeerClient beerClient;
+    BeerDTO beer;
+    List<UUID> beerIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = StubBeerServer.start();
+        context = StubApplicationContext.start(server);
+        beerClient = context.getBean(BeerClient.class);
+        beer = StubBeerServer.beer(StubBeerServer.BEER_ID, 0);
+        beerIds = Stream.generate(UUID::randomUUID).limit(10).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.close();
+    }
+
+    @Benchmark
+    public BeerDTO getBeerById() {
+        return beerClient.getBeerById(StubBeerServer.BEER_ID);
+    }
+
+    @Benchmark
+    public Map<UUID, BeerDTO> getBeersByIds() {
+        return beerClient.getBeersByIds(beerIds);
+    }
+
+    @Benchmark
+    public Page<BeerDTO> listBeers() {
+        return beerClient.listBeers();
+    }
+
+    @Benchmark
+    public PageMetadata listBeersStreaming(Blackhole blackhole) {
+        return beerClient.listBeers(null, null, null, null, null, blackhole::consume);
+    }
+
+    @Benchmark
+    public BeerDTO createBeer() {
+        return beerClient.createBeer(beer);
+    }
+
+    @Benchmark
+    public BeerDTO updateBeer() {
+        return beerClient.updateBeer(beer);
+    }
+
+    @Benchmark
+    public void deleteBeer() {
+        beerClient.deleteBeer(StubBeerServer.BEER_ID);
+    }
+}
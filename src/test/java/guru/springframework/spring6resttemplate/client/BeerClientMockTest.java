@@ -2,23 +2,34 @@ package guru.springframework.spring6resttemplate.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import guru.springframework.spring6resttemplate.config.AdaptiveTimeouts;
 import guru.springframework.spring6resttemplate.config.OAuthClientInterceptor;
+import guru.springframework.spring6resttemplate.config.ResilienceInterceptor;
 import guru.springframework.spring6resttemplate.config.RestTemplateBuilderConfig;
+import guru.springframework.spring6resttemplate.config.WireFormat;
+import guru.springframework.spring6resttemplate.model.BeerChanges;
 import guru.springframework.spring6resttemplate.model.BeerDTO;
 import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
 import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.model.SyncWatermark;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.context.TestConfiguration;
-import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.InMemoryOAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
@@ -30,6 +41,7 @@ import org.springframework.security.oauth2.client.registration.InMemoryClientReg
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -37,11 +49,22 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -50,7 +73,7 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 
 
 @RestClientTest
-@Import(RestTemplateBuilderConfig.class)
+@Import({RestTemplateBuilderConfig.class, BeerClientMetrics.class, ResilienceInterceptor.class, AdaptiveTimeouts.class})
 public class BeerClientMockTest {
 
     static final String URL = "http://localhost:8080";
@@ -61,14 +84,19 @@ public class BeerClientMockTest {
 
     MockRestServiceServer server;
 
+    RestTemplate restTemplate;
+
     @Autowired
     RestTemplateBuilder restTemplateBuilder;
 
     @Autowired
     ObjectMapper objectMapper;
 
-    @Mock
-    RestTemplateBuilder mockRestTemplateBuilder = new RestTemplateBuilder(new MockServerRestTemplateCustomizer());
+    @Autowired
+    BeerClientMetrics metrics;
+
+    @Autowired
+    MeterRegistry meterRegistry;
 
     BeerDTO beer;
 
@@ -99,8 +127,15 @@ public class BeerClientMockTest {
         }
 
         @Bean
-        OAuthClientInterceptor oAuthClientInterceptor(OAuth2AuthorizedClientManager manager, ClientRegistrationRepository registrationRepository) {
-            return new OAuthClientInterceptor(manager, registrationRepository);
+        OAuthClientInterceptor oAuthClientInterceptor(OAuth2AuthorizedClientManager manager,
+                                                      ClientRegistrationRepository registrationRepository,
+                                                      MeterRegistry meterRegistry) {
+            return new OAuthClientInterceptor(manager, registrationRepository, meterRegistry);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
     }
 
@@ -117,10 +152,11 @@ public class BeerClientMockTest {
 
         when(manager.authorize(any())).thenReturn(new OAuth2AuthorizedClient(clientRegistration, "test", token));
 
-        RestTemplate restTemplate = restTemplateBuilder.build();
+        restTemplate = restTemplateBuilder.build();
         server = MockRestServiceServer.bindTo(restTemplate).build();
-        when(mockRestTemplateBuilder.build()).thenReturn(restTemplate);
-        beerClient = new BeerClientImpl(mockRestTemplateBuilder);
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), BeerCache.disabled(), BeerQueryCache.disabled(), metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
 
         beer = getBeerDto();
         dtoJson = objectMapper.writeValueAsString(beer);
@@ -142,6 +178,41 @@ public class BeerClientMockTest {
         assertThat(dtos.getContent().size()).isEqualTo(1);
     }
 
+    @Test
+    void listBeersDecodesSmileResponse() throws JsonProcessingException {
+        byte[] response = SmileMapper.builder().findAndAddModules().build().writeValueAsBytes(getPage());
+
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestTo(URL + BeerClientImpl.GET_BEER_PATH))
+                .andExpect(header(HttpHeaders.ACCEPT, containsString(WireFormat.SMILE.getMediaType().toString())))
+                .andRespond(withSuccess(response, WireFormat.SMILE.getMediaType()));
+
+        Page<BeerDTO> dtos = beerClient.listBeers();
+        assertThat(dtos.getContent()).extracting(BeerDTO::getBeerName).containsExactly(beer.getBeerName());
+    }
+
+    @Test
+    void getBeerChangesFromWatermark() throws JsonProcessingException {
+        SyncWatermark since = new SyncWatermark(LocalDateTime.of(2024, 6, 1, 12, 0), beer.getId());
+        SyncWatermark next = new SyncWatermark(LocalDateTime.of(2024, 6, 2, 8, 30), beer.getId());
+        UUID deletedId = UUID.randomUUID();
+        String response = objectMapper.writeValueAsString(new BeerChanges(List.of(beer), List.of(deletedId), next, false));
+
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestTo(startsWith(URL + BeerClientImpl.GET_BEER_CHANGES_PATH)))
+                .andExpect(queryParam("updatedSince", "2024-06-01T12:00"))
+                .andExpect(queryParam("afterId", beer.getId().toString()))
+                .andExpect(queryParam("pageSize", "100"))
+                .andRespond(withSuccess(response, MediaType.APPLICATION_JSON));
+
+        BeerChanges changes = beerClient.getBeerChanges(since, 100);
+
+        assertThat(changes.changed()).extracting(BeerDTO::getId).containsExactly(beer.getId());
+        assertThat(changes.deleted()).containsExactly(deletedId);
+        assertThat(changes.watermark()).isEqualTo(next);
+        server.verify();
+    }
+
     @Test
     void deleteBeerIdNotFound() {
         server.expect(method(HttpMethod.DELETE))
@@ -154,6 +225,37 @@ public class BeerClientMockTest {
         server.verify();
     }
 
+    @Test
+    void operationsTimedByUriTemplateAndStatus() {
+        long notFound = requestCount("deleteBeer", "404", "CLIENT_ERROR");
+        long found = requestCount("getBeerById", "200", "SUCCESS");
+        double responseBytes = meterRegistry.find("beer.client.response.size")
+                .tags("method", "GET", "uri", BeerClientImpl.GET_BEER_BY_ID_PATH)
+                .summaries().stream().mapToDouble(DistributionSummary::totalAmount).sum();
+
+        server.expect(method(HttpMethod.DELETE))
+                .andRespond(withResourceNotFound());
+        mockGetOperation();
+
+        assertThrows(HttpClientErrorException.class, () -> beerClient.deleteBeer(beer.getId()));
+        beerClient.getBeerById(beer.getId());
+
+        assertThat(requestCount("deleteBeer", "404", "CLIENT_ERROR")).isEqualTo(notFound + 1);
+        assertThat(requestCount("getBeerById", "200", "SUCCESS")).isEqualTo(found + 1);
+        assertThat(meterRegistry.get("beer.client.response.size").tags("method", "GET",
+                        "uri", BeerClientImpl.GET_BEER_BY_ID_PATH)
+                .summaries().stream().mapToDouble(DistributionSummary::totalAmount).sum())
+                .isGreaterThanOrEqualTo(responseBytes + dtoJson.length());
+    }
+
+    private long requestCount(String operation, String status, String outcome) {
+        Timer timer = meterRegistry.find("beer.client.requests")
+                .tags("operation", operation, "uri", BeerClientImpl.GET_BEER_BY_ID_PATH,
+                        "status", status, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
     @Test
     void deleteBeer() {
         server.expect(method(HttpMethod.DELETE))
@@ -171,6 +273,25 @@ public class BeerClientMockTest {
         final String newName = "Mango SAIX";
         beer.setBeerName(newName);
 
+        server.expect(method(HttpMethod.PUT))
+                .andExpect(requestToUriTemplate(URL +
+                        BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andExpect(header("Authorization", BARER_TEST))
+                .andRespond(withNoContent().header(HttpHeaders.ETAG, "W/\"2\""));
+
+        BeerDTO updatedBeer = this.beerClient.updateBeer(beer);
+        assertThat(updatedBeer.getBeerName()).isEqualTo(newName);
+        assertThat(updatedBeer.getVersion()).isEqualTo(2);
+        server.verify();
+    }
+
+    @Test
+    void updateBeerReadAfterWrite() throws JsonProcessingException {
+        beerClient = readAfterWriteClient();
+
+        final String newName = "Mango SAIX";
+        beer.setBeerName(newName);
+
         dtoJson = objectMapper.writeValueAsString(beer);
 
         server.expect(method(HttpMethod.PUT))
@@ -184,6 +305,7 @@ public class BeerClientMockTest {
 
         BeerDTO updatedBeer = this.beerClient.updateBeer(beer);
         assertThat(updatedBeer.getBeerName()).isEqualTo(newName);
+        server.verify();
     }
 
     @Test
@@ -191,6 +313,40 @@ public class BeerClientMockTest {
 
         URI uri = UriComponentsBuilder.fromPath(BeerClientImpl.GET_BEER_BY_ID_PATH).build(beer.getId());
 
+        server.expect(method(HttpMethod.POST))
+                    .andExpect(requestTo(URL +
+                            BeerClientImpl.GET_BEER_PATH))
+                .andExpect(header("Authorization", BARER_TEST))
+                .andRespond(withAccepted().location(uri));
+
+        BeerDTO newBeer = beer.toBuilder().id(null).build();
+
+        BeerDTO responseDTO = beerClient.createBeer(newBeer);
+        assertThat(responseDTO.getId()).isEqualTo(beer.getId());
+        assertThat(responseDTO.getBeerName()).isEqualTo(beer.getBeerName());
+        server.verify();
+    }
+
+    @Test
+    void createBeerUsesResponseBody() {
+
+        URI uri = UriComponentsBuilder.fromPath(BeerClientImpl.GET_BEER_BY_ID_PATH).build(beer.getId());
+
+        server.expect(method(HttpMethod.POST))
+                .andExpect(requestTo(URL + BeerClientImpl.GET_BEER_PATH))
+                .andRespond(withCreatedEntity(uri).body(dtoJson).contentType(MediaType.APPLICATION_JSON));
+
+        BeerDTO responseDTO = beerClient.createBeer(beer.toBuilder().id(null).build());
+        assertThat(responseDTO.getId()).isEqualTo(beer.getId());
+        server.verify();
+    }
+
+    @Test
+    void createBeerReadAfterWrite() {
+        beerClient = readAfterWriteClient();
+
+        URI uri = UriComponentsBuilder.fromPath(BeerClientImpl.GET_BEER_BY_ID_PATH).build(beer.getId());
+
         server.expect(method(HttpMethod.POST))
                     .andExpect(requestTo(URL +
                             BeerClientImpl.GET_BEER_PATH))
@@ -202,6 +358,46 @@ public class BeerClientMockTest {
 
         BeerDTO responseDTO = beerClient.createBeer(beer);
         assertThat(responseDTO.getId()).isEqualTo(beer.getId());
+        server.verify();
+    }
+
+    @Test
+    void deleteBeersReportsPerItemResults() {
+        UUID missingId = UUID.randomUUID();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+        server.expect(method(HttpMethod.DELETE))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andRespond(withNoContent());
+        server.expect(method(HttpMethod.DELETE))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, missingId))
+                .andRespond(withResourceNotFound());
+
+        AtomicInteger progressCalls = new AtomicInteger();
+        BatchResult<UUID> result = beerClient.deleteBeers(List.of(beer.getId(), missingId), 2,
+                (completed, failed, total) -> progressCalls.incrementAndGet());
+
+        assertThat(result.succeeded()).containsExactly(beer.getId());
+        assertThat(result.failed()).singleElement().satisfies(item -> {
+            assertThat(item.index()).isEqualTo(1);
+            assertThat(item.error()).isInstanceOf(HttpClientErrorException.NotFound.class);
+        });
+        assertThat(progressCalls).hasValue(2);
+        server.verify();
+    }
+
+    private PageReader<BeerDTO> beerPageReader() {
+        return new PageReader<>(restTemplate.getMessageConverters(), BeerDTO.class);
+    }
+
+    private BeerRequestUris requestUris() {
+        return new BeerRequestUris(restTemplate.getUriTemplateHandler());
+    }
+
+    private BeerClient readAfterWriteClient() {
+        return new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), BeerCache.disabled(), BeerQueryCache.disabled(), metrics, HedgedRequests.disabled(),
+                BeerWriteMode.READ_AFTER_WRITE);
     }
 
     @Test
@@ -213,6 +409,165 @@ public class BeerClientMockTest {
         assertThat(responseDTO.getId()).isEqualTo(beer.getId());
     }
 
+    @Test
+    void getBeersByIdsDeduplicatesAndSkipsMissing() {
+        BeerDTO secondBeer = getBeerDto();
+        UUID missingId = UUID.randomUUID();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+
+        mockGetOperation();
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, secondBeer.getId()))
+                .andRespond(withSuccess(dtoJson.replace(beer.getId().toString(), secondBeer.getId().toString()),
+                        MediaType.APPLICATION_JSON));
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, missingId))
+                .andRespond(withResourceNotFound());
+
+        Map<UUID, BeerDTO> beers = beerClient.getBeersByIds(
+                List.of(beer.getId(), secondBeer.getId(), beer.getId(), missingId));
+
+        assertThat(beers).containsOnlyKeys(beer.getId(), secondBeer.getId());
+        assertThat(beers.get(secondBeer.getId()).getId()).isEqualTo(secondBeer.getId());
+        server.verify();
+    }
+
+    @Test
+    void getBeersByIdsRejectsANonPositiveConcurrency() {
+        List<UUID> beerIds = List.of(beer.getId());
+
+        assertThrows(IllegalArgumentException.class, () -> beerClient.getBeersByIds(beerIds, 0));
+        assertThrows(IllegalArgumentException.class, () -> beerClient.getBeersByIds(beerIds, -1));
+        server.verify();
+    }
+
+    @Test
+    void getBeerByIdServedFromCacheAndRevalidated() {
+        BeerCache beerCache = new BeerCache(true, 10, Duration.ZERO);
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), beerCache, BeerQueryCache.disabled(), metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andRespond(withSuccess(dtoJson, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"1\""));
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertThat(beerClient.getBeerById(beer.getId()).getId()).isEqualTo(beer.getId());
+        assertThat(beerClient.getBeerById(beer.getId()).getBeerName()).isEqualTo(beer.getBeerName());
+
+        server.verify();
+        assertThat(beerCache.stats().revalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedBeerInvalidatedByDelete() {
+        BeerCache beerCache = new BeerCache(true, 10, Duration.ofMinutes(1));
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), beerCache, BeerQueryCache.disabled(), metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+
+        mockGetOperation();
+        server.expect(method(HttpMethod.DELETE))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andRespond(withNoContent());
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andRespond(withResourceNotFound());
+
+        beerClient.getBeerById(beer.getId());
+        beerClient.getBeerById(beer.getId());
+        beerClient.deleteBeer(beer.getId());
+        assertThrows(HttpClientErrorException.class, () -> beerClient.getBeerById(beer.getId()));
+
+        server.verify();
+        assertThat(beerCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void listedPagesServedFromQueryCacheUntilAWrite() throws JsonProcessingException {
+        BeerQueryCache queryCache = new BeerQueryCache(true, 10, Duration.ofMinutes(1), Duration.ZERO);
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), BeerCache.disabled(), queryCache, metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+        String response = objectMapper.writeValueAsString(getPage());
+        long listed = exchangeCount("listBeers", BeerClientImpl.GET_BEER_PATH);
+
+        server.expect(ExpectedCount.twice(), method(HttpMethod.GET))
+                .andExpect(queryParam("beerName", "Mango"))
+                .andRespond(withSuccess(response, MediaType.APPLICATION_JSON));
+        server.expect(method(HttpMethod.PUT))
+                .andExpect(requestToUriTemplate(URL + BeerClientImpl.GET_BEER_BY_ID_PATH, beer.getId()))
+                .andRespond(withNoContent());
+
+        beerClient.listBeers("Mango", null, null, null, null);
+        beerClient.listBeers("Mango", null, true, 1, 25).getContent().getFirst().setBeerName("changed");
+        assertThat(beerClient.listBeers("Mango", null, null, null, null).getContent().getFirst().getBeerName())
+                .isEqualTo(beer.getBeerName());
+        beerClient.updateBeer(beer);
+        beerClient.listBeers("Mango", null, null, null, null);
+
+        server.verify();
+        assertThat(queryCache.stats().hits()).isEqualTo(2);
+        assertThat(queryCache.stats().misses()).isEqualTo(2);
+        assertThat(exchangeCount("listBeers", BeerClientImpl.GET_BEER_PATH)).isEqualTo(listed + 2);
+    }
+
+    @Test
+    void backgroundRefreshIsTimedUnderTheListUri() throws JsonProcessingException {
+        BeerQueryCache queryCache = new BeerQueryCache(true, 10, Duration.ZERO, Duration.ofMinutes(1));
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), BeerCache.disabled(), queryCache, metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+        long listed = exchangeCount("listBeers", BeerClientImpl.GET_BEER_PATH);
+        long untagged = meterRegistry.find("beer.client.response.size").tag("uri", BeerClientMetrics.NO_URI)
+                .summaries().stream().mapToLong(DistributionSummary::count).sum();
+
+        server.expect(ExpectedCount.twice(), method(HttpMethod.GET))
+                .andExpect(queryParam("beerStyle", "IPA"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(getPage()), MediaType.APPLICATION_JSON));
+
+        beerClient.listBeers(null, BeerStyle.IPA, null, null, null);
+        beerClient.listBeers(null, BeerStyle.IPA, null, null, null);
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> exchangeCount("listBeers", BeerClientImpl.GET_BEER_PATH) == listed + 2);
+        server.verify();
+        assertThat(queryCache.stats().staleHits()).isEqualTo(1);
+        assertThat(meterRegistry.find("beer.client.response.size").tag("uri", BeerClientMetrics.NO_URI)
+                .summaries().stream().mapToLong(DistributionSummary::count).sum()).isEqualTo(untagged);
+        queryCache.destroy();
+    }
+
+    @Test
+    void streamBeersBypassesTheQueryCache() throws JsonProcessingException {
+        BeerQueryCache queryCache = new BeerQueryCache(true, 10, Duration.ofMinutes(1), Duration.ZERO);
+        beerClient = new BeerClientImpl(restTemplate, new BeerPageStreamReader(objectMapper), beerPageReader(),
+                requestUris(), BeerCache.disabled(), queryCache, metrics, HedgedRequests.disabled(),
+                BeerWriteMode.RESPONSE);
+
+        server.expect(ExpectedCount.twice(),
+                        requestTo(URL + BeerClientImpl.GET_BEER_PATH + "?pageNumber=1&pageSize=1"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(
+                        new BeerDTOPageImpl(List.of(beer), 0, 1, 1)), MediaType.APPLICATION_JSON));
+
+        for (int scan = 0; scan < 2; scan++) {
+            try (Stream<BeerDTO> beers = beerClient.streamBeers(null, null, null, 1)) {
+                assertThat(beers.map(BeerDTO::getId)).containsExactly(beer.getId());
+            }
+        }
+        server.verify();
+        assertThat(queryCache.stats().size()).isZero();
+    }
+
+    private long exchangeCount(String operation, String uriTemplate) {
+        return meterRegistry.find("beer.client.requests").tags("operation", operation, "uri", uriTemplate)
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+
     private void mockGetOperation() {
         server.expect(method(HttpMethod.GET))
                 .andExpect(requestToUriTemplate(URL +
@@ -235,6 +590,45 @@ public class BeerClientMockTest {
         assertThat(dtos.getContent().size()).isGreaterThan(0);
     }
 
+    @Test
+    void listBeersStreamsContentToConsumer() throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(getPage());
+
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestTo(URL + BeerClientImpl.GET_BEER_PATH + "?pageSize=25"))
+                .andExpect(header("Authorization", BARER_TEST))
+                .andRespond(withSuccess(payload, MediaType.APPLICATION_JSON));
+
+        List<BeerDTO> received = new ArrayList<>();
+        PageMetadata metadata = beerClient.listBeers(null, null, null, null, 25, received::add);
+
+        assertThat(received).extracting(BeerDTO::getBeerName).containsExactly(beer.getBeerName());
+        assertThat(metadata.number()).isEqualTo(1);
+        assertThat(metadata.size()).isEqualTo(25);
+        assertThat(metadata.totalElements()).isEqualTo(26);
+    }
+
+    @Test
+    void streamBeersWalksAllPages() throws JsonProcessingException {
+        BeerDTO secondBeer = getBeerDto();
+
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestTo(URL + BeerClientImpl.GET_BEER_PATH + "?pageNumber=1&pageSize=1"))
+                .andExpect(header("Authorization", BARER_TEST))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(
+                        new BeerDTOPageImpl(List.of(beer), 0, 1, 2)), MediaType.APPLICATION_JSON));
+        server.expect(method(HttpMethod.GET))
+                .andExpect(requestTo(URL + BeerClientImpl.GET_BEER_PATH + "?pageNumber=2&pageSize=1"))
+                .andExpect(header("Authorization", BARER_TEST))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(
+                        new BeerDTOPageImpl(List.of(secondBeer), 1, 1, 2)), MediaType.APPLICATION_JSON));
+
+        try (Stream<BeerDTO> beers = beerClient.streamBeers(null, null, null, 1)) {
+            assertThat(beers.map(BeerDTO::getId)).containsExactly(beer.getId(), secondBeer.getId());
+        }
+        server.verify();
+    }
+
     BeerDTO getBeerDto(){
         return BeerDTO.builder()
                 .id(UUID.randomUUID())
@@ -0,0 +1,82 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTODeserializer;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.PageMetadata;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-page binding through {@link BeerDTOPageImpl} versus {@link BeerPageStreamReader}. Run with
+ * {@code -prof gc} for bytes allocated per page; the page variant also retains every beer until it returns,
+ * whereas the streaming variant only ever holds one. {@code binding=bean} swaps {@link BeerDTODeserializer} for
+ * Jackson's default bean binding; the payload has ISO dates, as the beer service writes them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BeerPageDecodeBenchmark {
+
+    @Param({"1000", "100000"})
+    int pageSize;
+
+    @Param({"lean", "bean"})
+    String binding;
+
+    ObjectMapper objectMapper;
+    BeerPageStreamReader streamReader;
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (binding.equals("bean")) {
+            builder.addMixIn(BeerDTO.class, BeanBinding.class);
+        }
+        objectMapper = builder.build();
+        objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+        streamReader = new BeerPageStreamReader(objectMapper);
+        payload = objectMapper.writeValueAsBytes(StubBeerServer.page(pageSize));
+    }
+
+    @Benchmark
+    public BeerDTOPageImpl wholePage() throws IOException {
+        return objectMapper.readValue(payload, BeerDTOPageImpl.class);
+    }
+
+    @Benchmark
+    public PageMetadata streaming(Blackhole blackhole) throws IOException {
+        return streamReader.read(new ByteArrayInputStream(payload), blackhole::consume);
+    }
+
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class BeanBinding {
+    }
+}
@@ -0,0 +1,145 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class BeerQueryCacheTest {
+
+    BeerDTO ipa = BeerCatalogTest.beer("Mango Bobs", BeerStyle.IPA);
+    BeerDTO stout = BeerCatalogTest.beer("Crank", BeerStyle.STOUT);
+    AtomicInteger loads = new AtomicInteger();
+
+    BeerQueryCache queryCache = new BeerQueryCache(true, 10, Duration.ofMinutes(1), Duration.ZERO);
+
+    @AfterEach
+    void tearDown() {
+        queryCache.destroy();
+    }
+
+    @Test
+    void spellingsOfTheSameQueryShareAnEntry() {
+        BeerQueryCache.Query query = BeerQueryCache.Query.of("Mango", BeerStyle.IPA, null, null, null);
+
+        assertThat(BeerQueryCache.Query.of("MANGO", BeerStyle.IPA, true, 0, BeerCatalog.DEFAULT_PAGE_SIZE))
+                .isEqualTo(query);
+        assertThat(BeerQueryCache.Query.of("", null, null, null, 5000))
+                .isEqualTo(BeerQueryCache.Query.of(null, null, true, 1, BeerCatalog.MAX_PAGE_SIZE));
+
+        queryCache.get(query, loader(ipa));
+        Page<BeerDTO> cached = queryCache.get(BeerQueryCache.Query.of("mango", BeerStyle.IPA, true, 1, 25), loader(ipa));
+        cached.getContent().getFirst().setBeerName("changed");
+
+        assertThat(queryCache.get(query, loader(ipa)).getContent().getFirst().getBeerName()).isEqualTo("Mango Bobs");
+        assertThat(loads).hasValue(1);
+        assertThat(queryCache.stats().hits()).isEqualTo(2);
+    }
+
+    @Test
+    void stalePageServedWhileItIsRefreshed() {
+        BeerQueryCache swr = new BeerQueryCache(true, 10, Duration.ZERO, Duration.ofMinutes(1));
+        BeerQueryCache.Query query = BeerQueryCache.Query.of(null, null, null, null, null);
+        BeerDTO renamed = ipa.toBuilder().beerName("Mango Bobs II").build();
+
+        swr.get(query, loader(ipa));
+        assertThat(swr.get(query, loader(renamed)).getContent()).containsExactly(ipa);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> loads.get() == 2);
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> swr.get(query, loader(renamed)).getContent().equals(List.of(renamed)));
+        assertThat(swr.stats().misses()).isEqualTo(1);
+        swr.destroy();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        BeerQueryCache.Query query = BeerQueryCache.Query.of(null, BeerStyle.IPA, null, null, null);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Page<BeerDTO>> slowLoader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new BeerDTOPageImpl(List.of(ipa));
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Page<BeerDTO>>> calls = List.of(
+                    executor.submit(() -> queryCache.get(query, slowLoader)),
+                    executor.submit(() -> queryCache.get(query, slowLoader)),
+                    executor.submit(() -> queryCache.get(query, slowLoader)));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> queryCache.stats().misses() == 3);
+            release.countDown();
+
+            for (Future<Page<BeerDTO>> call : calls) {
+                assertThat(call.get(5, TimeUnit.SECONDS).getContent()).containsExactly(ipa);
+            }
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writesDropThePagesThatCouldShowTheBeer() {
+        BeerQueryCache.Query ipas = BeerQueryCache.Query.of(null, BeerStyle.IPA, null, null, null);
+        BeerQueryCache.Query stouts = BeerQueryCache.Query.of(null, BeerStyle.STOUT, null, null, null);
+        BeerQueryCache.Query all = BeerQueryCache.Query.of(null, null, null, null, null);
+        queryCache.get(ipas, loader(ipa));
+        queryCache.get(stouts, loader(stout));
+        queryCache.get(all, loader(ipa, stout));
+
+        // a new IPA: the IPA and unfiltered pages may now include it, the stout page cannot
+        queryCache.invalidate(BeerCatalogTest.beer("Haze", BeerStyle.IPA).getId(), BeerStyle.IPA);
+        assertThat(queryCache.stats().size()).isEqualTo(1);
+
+        // the stout becomes a porter: its old style's pages go too
+        queryCache.get(all, loader(ipa, stout));
+        queryCache.invalidate(stout.getId(), BeerStyle.PORTER);
+        assertThat(queryCache.stats().size()).isZero();
+
+        // a delete of a beer no cached page shows, style unknown: everything goes
+        queryCache.get(ipas, loader(ipa));
+        queryCache.invalidate(stout.getId(), null);
+        assertThat(queryCache.stats().size()).isZero();
+        assertThat(queryCache.stats().invalidations()).isEqualTo(5);
+    }
+
+    @Test
+    void pageFetchedAcrossAWriteIsNotStored() {
+        BeerQueryCache.Query query = BeerQueryCache.Query.of(null, BeerStyle.IPA, null, null, null);
+
+        queryCache.get(query, () -> {
+            queryCache.invalidate(ipa.getId(), BeerStyle.IPA);
+            return new BeerDTOPageImpl(List.of(ipa));
+        });
+        queryCache.get(query, loader(ipa));
+
+        assertThat(loads).hasValue(1);
+        assertThat(queryCache.stats().misses()).isEqualTo(2);
+        assertThat(queryCache.stats().size()).isEqualTo(1);
+    }
+
+    private Supplier<Page<BeerDTO>> loader(BeerDTO... beers) {
+        return () -> {
+            loads.incrementAndGet();
+            return new BeerDTOPageImpl(List.of(beers));
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of building the request URI: a {@code UriComponentsBuilder} query string expanded by the
+ * {@code RestTemplate}'s {@link DefaultUriBuilderFactory} (what {@code BeerClientImpl} did before) versus
+ * {@link BeerRequestUris}. {@code byId} is {@code getBeerById}'s template expansion, {@code page} a
+ * {@code streamBeers} page request and {@code filtered} a search with every parameter set. Run with
+ * {@code -prof gc} for the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BeerRequestUrisBenchmark {
+
+    @Param({"byId", "page", "filtered"})
+    String request;
+
+    DefaultUriBuilderFactory uriTemplateHandler;
+    BeerRequestUris requestUris;
+    UUID beerId;
+
+    @Setup
+    public void setUp() {
+        uriTemplateHandler = new DefaultUriBuilderFactory("http://localhost:8080");
+        requestUris = new BeerRequestUris(uriTemplateHandler);
+        beerId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public URI uriTemplate() {
+        return switch (request) {
+            case "byId" -> uriTemplateHandler.expand(BeerClientImpl.GET_BEER_BY_ID_PATH, beerId);
+            case "page" -> uriTemplateHandler.expand(queryString(null, null, null, 3, 500));
+            default -> uriTemplateHandler.expand(queryString("Mango", BeerStyle.PALE_ALE, false, 3, 25));
+        };
+    }
+
+    @Benchmark
+    public URI requestUris() {
+        return switch (request) {
+            case "byId" -> requestUris.beer(beerId);
+            case "page" -> requestUris.beers(null, null, null, 3, 500);
+            default -> requestUris.beers("Mango", BeerStyle.PALE_ALE, false, 3, 25);
+        };
+    }
+
+    private static String queryString(String beerName, BeerStyle beerStyle, Boolean showInventory,
+                                      Integer pageNumber, Integer pageSize) {
+        UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromPath(BeerClientImpl.GET_BEER_PATH);
+        if (beerName != null) {
+            uriComponentsBuilder.queryParam("beerName", beerName);
+        }
+        if (beerStyle != null) {
+            uriComponentsBuilder.queryParam("beerStyle", beerStyle);
+        }
+        if (showInventory != null) {
+            uriComponentsBuilder.queryParam("showInventory", showInventory);
+        }
+        if (pageNumber != null) {
+            uriComponentsBuilder.queryParam("pageNumber", pageNumber);
+        }
+        if (pageSize != null) {
+            uriComponentsBuilder.queryParam("pageSize", pageSize);
+        }
+        return uriComponentsBuilder.toUriString();
+    }
+}
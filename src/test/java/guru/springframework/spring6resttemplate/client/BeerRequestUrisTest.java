@@ -0,0 +1,41 @@
+package guru.springframework.spring6resttemplate.client;
+
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerRequestUrisTest {
+
+    DefaultUriBuilderFactory uriTemplateHandler = new DefaultUriBuilderFactory("http://localhost:8080");
+    BeerRequestUris requestUris = new BeerRequestUris(uriTemplateHandler);
+
+    @Test
+    void matchesTheExpandedTemplates() {
+        UUID beerId = UUID.fromString("0a1b2c3d-4e5f-6789-abcd-ef0123456789");
+
+        assertThat(requestUris.beer(beerId))
+                .isEqualTo(uriTemplateHandler.expand(BeerClientImpl.GET_BEER_BY_ID_PATH, beerId));
+        assertThat(requestUris.beers()).isEqualTo(uriTemplateHandler.expand(BeerClientImpl.GET_BEER_PATH));
+        assertThat(requestUris.beers(null, null, null, null, null)).isEqualTo(requestUris.beers());
+        assertThat(requestUris.beers(null, BeerStyle.PALE_ALE, false, 3, 25)).isEqualTo(URI.create(
+                "http://localhost:8080/api/v1/beer?beerStyle=PALE_ALE&showInventory=false&pageNumber=3&pageSize=25"));
+        assertThat(requestUris.beers(null, null, null, null, 500))
+                .isEqualTo(URI.create("http://localhost:8080/api/v1/beer?pageSize=500"));
+    }
+
+    @Test
+    void beerNamesAreEncodedOnce() {
+        String beerName = "Mango Bobs & Co+ Märzen 100%";
+
+        URI uri = requestUris.beers(beerName, null, true, null, null);
+
+        assertThat(uri.getRawQuery())
+                .isEqualTo("beerName=Mango%20Bobs%20%26%20Co%2B%20M%C3%A4rzen%20100%25&showInventory=true");
+        assertThat(uri.getQuery()).startsWith("beerName=" + beerName + "&");
+    }
+}
@@ -0,0 +1,97 @@
+package guru.springframework.spring6resttemplate.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedRequestsTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void slowCallIsHedgedAndLoserCancelled() throws InterruptedException {
+        HedgedRequests hedgedRequests = hedgedRequests(100);
+        warmUp(hedgedRequests);
+
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> call = () -> {
+            if (calls.getAndIncrement() > 0) {
+                return "hedge";
+            }
+            try {
+                TimeUnit.SECONDS.sleep(10);
+                return "primary";
+            } catch (InterruptedException e) {
+                primaryInterrupted.countDown();
+                throw new IllegalStateException(e);
+            }
+        };
+
+        long start = System.nanoTime();
+        assertThat(hedgedRequests.execute("getBeerById", call)).isEqualTo("hedge");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("beer.client.hedges").tags("operation", "getBeerById", "result", "won")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void noHedgeWithoutBudget() {
+        HedgedRequests hedgedRequests = hedgedRequests(0);
+        warmUp(hedgedRequests);
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = hedgedRequests.execute("getBeerById", () -> {
+            calls.incrementAndGet();
+            sleepMillis(100);
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("beer.client.hedges").tags("result", "budget_exhausted")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(10)
+    void errorsReachTheCaller() {
+        HedgedRequests hedgedRequests = hedgedRequests(100);
+        warmUp(hedgedRequests);
+
+        assertThatThrownBy(() -> hedgedRequests.execute("getBeerById", () -> {
+            throw new AssertionError("broken call");
+        })).isInstanceOf(AssertionError.class).hasMessage("broken call");
+    }
+
+    private HedgedRequests hedgedRequests(double budgetPercent) {
+        return new HedgedRequests(true, 0.5, budgetPercent, Duration.ofMillis(5),
+                new BeerClientMetrics(meterRegistry), meterRegistry);
+    }
+
+    private void warmUp(HedgedRequests hedgedRequests) {
+        for (int i = 0; i < HedgedRequests.MIN_SAMPLES; i++) {
+            hedgedRequests.execute("getBeerById", () -> "warm-up");
+        }
+        assertThat(hedgedRequests.delayNanos("getBeerById")).isPositive();
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
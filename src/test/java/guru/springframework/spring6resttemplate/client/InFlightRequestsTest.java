@@ -0,0 +1,96 @@
+package guru.springframework.spring6resttemplate.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class InFlightRequestsTest {
+
+    InFlightRequests<String, String> inFlight = new InFlightRequests<>();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Thread> followerThread = new AtomicReference<>();
+
+    @Test
+    @Timeout(10)
+    void overlappingCallersShareOneCall() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> inFlight.execute("beer", blockingCall(() -> "Mango Bobs")));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> follower = executor.submit(() -> follow(() -> inFlight.execute("beer",
+                    blockingCall(() -> "other"))));
+            awaitFollowerParked();
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Mango Bobs");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Mango Bobs");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(inFlight.size()).isZero();
+    }
+
+    @Test
+    @Timeout(10)
+    void followersSeeTheLeadersError() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> inFlight.execute("beer", blockingCall(() -> {
+                throw new AssertionError("boom");
+            })));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> follower = executor.submit(() -> follow(() -> inFlight.execute("beer",
+                    blockingCall(() -> "other"))));
+            awaitFollowerParked();
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(inFlight.size()).isZero();
+    }
+
+    private Supplier<String> blockingCall(Supplier<String> result) {
+        return () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private String follow(Supplier<String> call) {
+        followerThread.set(Thread.currentThread());
+        return call.get();
+    }
+
+    /**
+     * Parked with only the leader's call made means the follower is waiting on the leader's result.
+     */
+    private void awaitFollowerParked() {
+        await().atMost(5, TimeUnit.SECONDS).until(() -> followerThread.get() != null
+                && followerThread.get().getState() == Thread.State.WAITING);
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -0,0 +1,82 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of turning a {@code listBeers} response into a page, without the network: what
+ * {@code getForObject(uri, BeerDTOPageImpl.class)} does (an {@code Accept} callback and an extractor that
+ * resolve the page class against every converter) versus a {@link PageReader}. Small pages show the fixed
+ * overhead, since binding the beers themselves costs the same either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PageReaderBenchmark {
+
+    @Param({"1", "25"})
+    int pageSize;
+
+    RestTemplate restTemplate;
+    PageReader<BeerDTO> pageReader;
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        restTemplate = new RestTemplate();
+        pageReader = new PageReader<>(restTemplate.getMessageConverters(), BeerDTO.class);
+        payload = JsonMapper.builder().findAndAddModules().build().writeValueAsBytes(StubBeerServer.page(pageSize));
+    }
+
+    @Benchmark
+    public Page<BeerDTO> converterExtractor() throws IOException {
+        RequestCallback acceptHeader = restTemplate.acceptHeaderRequestCallback(BeerDTOPageImpl.class);
+        acceptHeader.doWithRequest(request());
+        return new HttpMessageConverterExtractor<>(BeerDTOPageImpl.class, restTemplate.getMessageConverters())
+                .extractData(response());
+    }
+
+    @Benchmark
+    public Page<BeerDTO> pageReader() throws IOException {
+        pageReader.doWithRequest(request());
+        return pageReader.extractData(response());
+    }
+
+    static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("/api/v1/beer"));
+    }
+
+    MockClientHttpResponse response() {
+        MockClientHttpResponse response = new MockClientHttpResponse(payload, 200);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+}
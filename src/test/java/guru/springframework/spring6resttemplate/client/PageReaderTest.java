@@ -0,0 +1,69 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import guru.springframework.spring6resttemplate.model.RestPageImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.UnknownContentTypeException;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageReaderTest {
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    PageReader<BeerDTO> pageReader = new PageReader<>(new RestTemplate().getMessageConverters(), BeerDTO.class);
+
+    @Test
+    void readsTypedPages() throws Exception {
+        BeerDTO beer = BeerCatalogTest.beer("Mango Bobs", BeerStyle.IPA);
+        byte[] body = objectMapper.writeValueAsBytes(new RestPageImpl<>(List.of(beer), 2, 25, 51));
+
+        Page<BeerDTO> page = pageReader.extractData(response(body, MediaType.APPLICATION_JSON));
+
+        assertThat(page.getContent()).containsExactly(beer);
+        assertThat(page.getNumber()).isEqualTo(2);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void acceptsEveryJacksonFormat() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("/api/v1/beer"));
+
+        pageReader.doWithRequest(request);
+
+        assertThat(request.getHeaders().getAccept()).contains(MediaType.APPLICATION_JSON,
+                MediaType.parseMediaType("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void emptyAndUnexpectedResponses() throws Exception {
+        assertThat(pageReader.extractData(response(new byte[0], MediaType.APPLICATION_JSON))).isNull();
+        assertThat(pageReader.extractData(new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT))).isNull();
+
+        assertThatThrownBy(() -> pageReader.extractData(response("{\"content\":[".getBytes(), MediaType.APPLICATION_JSON)))
+                .isInstanceOf(RestClientException.class);
+        assertThatThrownBy(() -> pageReader.extractData(response("beers".getBytes(), MediaType.TEXT_PLAIN)))
+                .isInstanceOf(UnknownContentTypeException.class);
+    }
+
+    static ClientHttpResponse response(byte[] body, MediaType contentType) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+        response.getHeaders().setContentType(contentType);
+        return response;
+    }
+}
@@ -0,0 +1,105 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveBeerClientImplTest {
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    List<BeerDTO> beers = IntStream.range(0, 5).mapToObj(i -> BeerCatalogTest.beer("Beer " + i, BeerStyle.IPA)).toList();
+    List<ClientRequest> requests = new ArrayList<>();
+
+    @Test
+    void listBeersFetchesPagesAsTheSubscriberAsks() {
+        ReactiveBeerClient client = client(request -> {
+            int pageNumber = Integer.parseInt(queryParam(request, "pageNumber"));
+            List<BeerDTO> content = beers.subList((pageNumber - 1) * 2, Math.min(pageNumber * 2, beers.size()));
+            return json(HttpStatus.OK, new BeerDTOPageImpl(content, pageNumber - 1, 2, beers.size()));
+        });
+
+        assertThat(client.listBeers(null, BeerStyle.IPA, null, 2).take(1).collectList().block())
+                .containsExactly(beers.getFirst());
+        assertThat(requests).hasSizeLessThanOrEqualTo(2);
+        assertThat(queryParam(requests.getFirst(), "beerStyle")).isEqualTo("IPA");
+
+        requests.clear();
+        assertThat(client.listBeers(null, null, null, 2).collectList().block()).isEqualTo(beers);
+        assertThat(requests).extracting(request -> queryParam(request, "pageNumber")).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void getBeersByIdsSkipsMissingBeers() {
+        BeerDTO beer = beers.getFirst();
+        UUID missingId = UUID.randomUUID();
+        ReactiveBeerClient client = client(request -> request.url().getPath().endsWith(beer.getId().toString())
+                ? json(HttpStatus.OK, beer)
+                : Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        assertThat(client.getBeersByIds(List.of(beer.getId(), missingId, beer.getId()), 4).collectList().block())
+                .containsExactly(beer);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void createBeerFallsBackToTheLocationWithoutABody() {
+        UUID id = UUID.randomUUID();
+        BeerDTO submitted = beers.getFirst().toBuilder().id(null).build();
+        ReactiveBeerClient client = client(request -> Mono.just(ClientResponse.create(HttpStatus.CREATED)
+                .header(HttpHeaders.LOCATION, BeerClientImpl.GET_BEER_PATH + "/" + id)
+                .header(HttpHeaders.ETAG, "W/\"1\"")
+                .build()));
+
+        BeerDTO created = client.createBeer(submitted).block();
+
+        assertThat(requests.getFirst().method()).isEqualTo(HttpMethod.POST);
+        assertThat(created.getId()).isEqualTo(id);
+        assertThat(created.getBeerName()).isEqualTo(submitted.getBeerName());
+    }
+
+    private ReactiveBeerClient client(Function<ClientRequest, Mono<ClientResponse>> server) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:8080")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return server.apply(request);
+                })
+                .build();
+        return new ReactiveBeerClientImpl(webClient);
+    }
+
+    private Mono<ClientResponse> json(HttpStatus status, Object body) {
+        try {
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(objectMapper.writeValueAsString(body))
+                    .build());
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static String queryParam(ClientRequest request, String name) {
+        return UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst(name);
+    }
+}
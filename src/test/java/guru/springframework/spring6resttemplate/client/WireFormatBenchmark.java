@@ -0,0 +1,82 @@
+package guru.springframework.spring6resttemplate.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import guru.springframework.spring6resttemplate.config.WireFormat;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decode time of one {@code listBeers} page per {@link WireFormat}, with and without gzip. The bytes each
+ * combination puts on the wire are printed once per fork, e.g.
+ * {@code wire bytes: SMILE gzip pageSize=1000 -> 27873}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    WireFormat format;
+
+    @Param({"identity", "gzip"})
+    String encoding;
+
+    @Param({"25", "1000"})
+    int pageSize;
+
+    ObjectMapper mapper;
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case JSON -> JsonMapper.builder().findAndAddModules().build();
+            case SMILE -> SmileMapper.builder().findAndAddModules().build();
+            case CBOR -> CBORMapper.builder().findAndAddModules().build();
+        };
+        payload = mapper.writeValueAsBytes(StubBeerServer.page(pageSize));
+
+        if (encoding.equals("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(payload);
+            }
+            payload = compressed.toByteArray();
+        }
+        System.out.printf("wire bytes: %s %s pageSize=%d -> %d%n", format, encoding, pageSize, payload.length);
+    }
+
+    @Benchmark
+    public BeerDTOPageImpl decode() throws IOException {
+        InputStream body = new ByteArrayInputStream(payload);
+        if (encoding.equals("gzip")) {
+            body = new GZIPInputStream(body);
+        }
+        return mapper.readValue(body, BeerDTOPageImpl.class);
+    }
+}
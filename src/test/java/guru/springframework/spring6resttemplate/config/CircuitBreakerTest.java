@@ -0,0 +1,55 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    CircuitBreaker circuitBreaker = new CircuitBreaker(4, 4, 50, 3, Duration.ofMillis(50));
+
+    @Test
+    void rejectedProbesDoNotUseUpTheHalfOpenSlots() throws InterruptedException {
+        openAndWait();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        }
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        circuitBreaker.onIgnored();
+        circuitBreaker.onResult(true);
+        circuitBreaker.onResult(true);
+
+        // the ignored probe's slot is handed back and its replacement closes the breaker
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(true);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void probesThatNeverReportDoNotHoldTheBreakerHalfOpen() throws InterruptedException {
+        openAndWait();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        }
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        TimeUnit.MILLISECONDS.sleep(60);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void openAndWait() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(false);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        TimeUnit.MILLISECONDS.sleep(60);
+    }
+}
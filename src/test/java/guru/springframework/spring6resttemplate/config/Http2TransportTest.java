@@ -0,0 +1,59 @@
+package guru.springframework.spring6resttemplate.config;
+
+import guru.springframework.spring6resttemplate.client.BeerClientImpl;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import guru.springframework.spring6resttemplate.stub.StubH2cBeerServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Http2TransportTest {
+
+    @Test
+    void concurrentCallsShareOneH2cConnection() throws Exception {
+        RestTemplateBuilderConfig config = new RestTemplateBuilderConfig();
+        config.maxConnectionsPerRoute = 20;
+        config.idleTimeout = Duration.ofSeconds(30);
+        config.connectionTimeToLive = Duration.ofMinutes(5);
+        config.connectTimeout = Duration.ofSeconds(2);
+        AdaptiveTimeouts timeouts = new AdaptiveTimeouts(Duration.ofSeconds(1), Duration.ofSeconds(10), 4,
+                Duration.ofSeconds(2), new SimpleMeterRegistry());
+        ConnectionProvider connections = config.beerHttp2ConnectionProvider();
+
+        try (StubH2cBeerServer server = StubH2cBeerServer.start(25, 100);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ClientHttpRequestFactory requestFactory =
+                    config.beerHttp2RequestFactory(server.getRootUrl(), connections, timeouts);
+            RestTemplate restTemplate = new RestTemplateBuilder()
+                    .requestFactory(() -> requestFactory)
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(server.getRootUrl()))
+                    .build();
+
+            List<Future<BeerDTO>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(executor.submit(() -> restTemplate.getForObject(BeerClientImpl.GET_BEER_BY_ID_PATH,
+                        BeerDTO.class, StubBeerServer.BEER_ID)));
+            }
+            for (Future<BeerDTO> call : calls) {
+                assertThat(call.get().getId()).isEqualTo(StubBeerServer.BEER_ID);
+            }
+            assertThat(server.connections()).isEqualTo(1);
+        } finally {
+            connections.dispose();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package guru.springframework.spring6resttemplate.config;
+
+import guru.springframework.spring6resttemplate.client.BeerClientImpl;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import guru.springframework.spring6resttemplate.stub.StubH2cBeerServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code fanOut} concurrent {@code getBeerById} calls against a local h2c stub, over pooled HTTP/1.1
+ * (at most {@code pool.max-per-route} sockets, the rest of the burst queues for one) and over HTTP/2 (streams
+ * multiplexed on a shared connection). The TCP connections the server accepted are printed at tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    HttpProtocolVersion httpVersion;
+
+    @Param({"64"})
+    int fanOut;
+
+    @Param({"20"})
+    long latencyMillis;
+
+    StubH2cBeerServer server;
+    CloseableHttpClient http1Client;
+    ConnectionProvider http2Connections;
+    RestTemplate restTemplate;
+    ExecutorService executor;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = StubH2cBeerServer.start(25, latencyMillis);
+
+        RestTemplateBuilderConfig config = new RestTemplateBuilderConfig();
+        config.maxTotalConnections = 100;
+        config.maxConnectionsPerRoute = 20;
+        config.idleTimeout = Duration.ofSeconds(30);
+        config.connectionTimeToLive = Duration.ofMinutes(5);
+        config.connectTimeout = Duration.ofSeconds(2);
+        config.compression = true;
+
+        ClientHttpRequestFactory requestFactory;
+        if (httpVersion == HttpProtocolVersion.HTTP_2) {
+            AdaptiveTimeouts timeouts = new AdaptiveTimeouts(Duration.ofSeconds(1), Duration.ofSeconds(10), 4,
+                    Duration.ofSeconds(2), new SimpleMeterRegistry());
+            http2Connections = config.beerHttp2ConnectionProvider();
+            requestFactory = config.beerHttp2RequestFactory(server.getRootUrl(), http2Connections, timeouts);
+        } else {
+            http1Client = config.beerHttpClient(config.beerConnectionManager());
+            requestFactory = new HttpComponentsClientHttpRequestFactory(http1Client);
+        }
+        restTemplate = new RestTemplateBuilder()
+                .requestFactory(() -> requestFactory)
+                .uriTemplateHandler(new DefaultUriBuilderFactory(server.getRootUrl()))
+                .build();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s: %d TCP connections accepted%n", httpVersion, server.connections());
+        executor.shutdownNow();
+        if (http1Client != null) {
+            http1Client.close();
+        }
+        if (http2Connections != null) {
+            http2Connections.dispose();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public List<BeerDTO> getBeerByIdBurst() throws Exception {
+        List<Future<BeerDTO>> calls = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            calls.add(executor.submit(() -> restTemplate.getForObject(BeerClientImpl.GET_BEER_BY_ID_PATH,
+                    BeerDTO.class, StubBeerServer.BEER_ID)));
+        }
+        List<BeerDTO> beers = new ArrayList<>(fanOut);
+        for (Future<BeerDTO> call : calls) {
+            beers.add(call.get());
+        }
+        return beers;
+    }
+}
@@ -0,0 +1,154 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadBalancingRequestFactoryTest {
+
+    static final URI BEER_URI = URI.create("http://beer-1:8080/api/v1/beer?pageSize=5");
+
+    Map<String, HttpStatus> statusByHost = new ConcurrentHashMap<>();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void requestsAreRebasedOntoEveryEndpoint() throws IOException {
+        LoadBalancingRequestFactory factory = factory("http://beer-1:8080", "http://beer-2:9090");
+
+        Set<URI> targets = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            ClientHttpRequest request = factory.createRequest(BEER_URI, HttpMethod.GET);
+            request.execute().close();
+            targets.add(request.getURI());
+        }
+
+        assertThat(targets).containsExactlyInAnyOrder(BEER_URI,
+                URI.create("http://beer-2:9090/api/v1/beer?pageSize=5"));
+    }
+
+    @Test
+    void onlyUrisUnderTheFirstRootUrlAreRebased() throws IOException {
+        LoadBalancingRequestFactory factory = factory("http://beer-1:8080/api", "http://beer-2:9090/beer-api/");
+
+        for (String uri : List.of("http://beer-1:8080/apiary/v1/beer", "http://beer-1.example:8080/api/v1",
+                "https://beer-1:8080/api/v1/beer", "http://beer-1:8081/api/v1/beer", "http://other:8080/api")) {
+            assertThat(factory.createRequest(URI.create(uri), HttpMethod.GET).getURI()).hasToString(uri);
+        }
+
+        Set<URI> targets = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            targets.add(factory.createRequest(URI.create("http://BEER-1:8080/api/v1/beer?beerName=a%20b"),
+                    HttpMethod.GET).getURI());
+        }
+        assertThat(targets).containsExactlyInAnyOrder(URI.create("http://beer-1:8080/api/v1/beer?beerName=a%20b"),
+                URI.create("http://beer-2:9090/beer-api/v1/beer?beerName=a%20b"));
+        assertThat(factory.isUnderPrimaryBase(URI.create("http://beer-1:8080/api"))).isTrue();
+    }
+
+    @Test
+    void endpointWithFewerOutstandingRequestsIsChosen() throws IOException {
+        LoadBalancingRequestFactory factory = factory("http://beer-1:8080", "http://beer-2:8080");
+
+        ClientHttpRequest first = factory.createRequest(BEER_URI, HttpMethod.GET);
+        ClientHttpResponse open = first.execute();
+
+        for (int i = 0; i < 10; i++) {
+            ClientHttpRequest next = factory.createRequest(BEER_URI, HttpMethod.GET);
+            assertThat(next.getURI().getHost()).isNotEqualTo(first.getURI().getHost());
+        }
+        open.close();
+    }
+
+    @Test
+    void failingEndpointIsEjectedAndReadmitted() throws Exception {
+        LoadBalancingRequestFactory factory = factory("http://beer-1:8080", "http://beer-2:8080");
+        statusByHost.put("beer-2", HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < 20; i++) {
+            factory.createRequest(BEER_URI, HttpMethod.GET).execute().close();
+        }
+        LoadBalancingRequestFactory.Endpoint failing = factory.endpoints().get(1);
+        assertThat(failing.isEjected(System.nanoTime())).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(factory.createRequest(BEER_URI, HttpMethod.GET).getURI().getHost()).isEqualTo("beer-1");
+        }
+        assertThat(meterRegistry.get("beer.client.endpoint.ejections").tag("endpoint", "http://beer-2:8080")
+                .counter().count()).isEqualTo(1);
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertThat(failing.isEjected(System.nanoTime())).isFalse();
+    }
+
+    @Test
+    void unreadableStatusReleasesTheEndpoint() {
+        List<LoadBalancingRequestFactory.Endpoint> endpoints = List.of(new LoadBalancingRequestFactory.Endpoint(
+                URI.create("http://beer-1:8080"), (uri, method) -> {
+                    MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                    request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK) {
+                        @Override
+                        public HttpStatusCode getStatusCode() {
+                            throw new IllegalStateException("Malformed status line");
+                        }
+                    });
+                    return request;
+                }));
+        LoadBalancingRequestFactory factory = new LoadBalancingRequestFactory(endpoints, 3, Duration.ofMillis(100),
+                Duration.ofSeconds(1), meterRegistry);
+
+        assertThrows(IllegalStateException.class,
+                () -> factory.createRequest(BEER_URI, HttpMethod.GET).execute());
+
+        assertThat(factory.endpoints().getFirst().outstanding).hasValue(0);
+        assertThat(factory.endpoints().getFirst().consecutiveFailures).hasValue(1);
+    }
+
+    @Test
+    void lastHealthyEndpointIsNeverEjected() throws IOException {
+        LoadBalancingRequestFactory factory = factory("http://beer-1:8080");
+        statusByHost.put("beer-1", HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < 10; i++) {
+            factory.createRequest(BEER_URI, HttpMethod.GET).execute().close();
+        }
+
+        assertThat(factory.endpoints().getFirst().isEjected(System.nanoTime())).isFalse();
+    }
+
+    private LoadBalancingRequestFactory factory(String... rootUrls) {
+        List<LoadBalancingRequestFactory.Endpoint> endpoints = List.of(rootUrls).stream()
+                .map(rootUrl -> new LoadBalancingRequestFactory.Endpoint(URI.create(rootUrl), requestFactory()))
+                .toList();
+        return new LoadBalancingRequestFactory(endpoints, 3, Duration.ofMillis(100), Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    private ClientHttpRequestFactory requestFactory() {
+        return (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse(new byte[0],
+                    statusByHost.getOrDefault(uri.getHost(), HttpStatus.OK)));
+            return request;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package guru.springframework.spring6resttemplate.config;
+
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.security.oauth2.client.InMemoryOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of adding the bearer token: the cached interceptor path versus asking the
+ * {@link OAuth2AuthorizedClientManager} on every call and building the header (what the interceptor used
+ * to do). The token itself comes from the stub token endpoint once; the outbound request is never sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class OAuthClientInterceptorBenchmark {
+
+    static final URI BEER_URI = URI.create("http://localhost/api/v1/beer");
+
+    StubBeerServer server;
+    OAuth2AuthorizedClientManager manager;
+    OAuthClientInterceptor interceptor;
+    ClientHttpRequestExecution execution = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    @Setup
+    public void setUp() throws IOException {
+        server = StubBeerServer.start();
+
+        ClientRegistrationRepository registrations = new InMemoryClientRegistrationRepository(
+                ClientRegistration.withRegistrationId("springauth")
+                        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                        .clientId("my-client")
+                        .clientSecret("my-secret")
+                        .tokenUri(server.getTokenUri())
+                        .build());
+
+        manager = new RestTemplateBuilderConfig().auth2AuthorizedClientManager(registrations,
+                new InMemoryOAuth2AuthorizedClientService(registrations));
+        interceptor = new OAuthClientInterceptor(manager, registrations, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        interceptor.destroy();
+        server.close();
+    }
+
+    @Benchmark
+    public ClientHttpResponse cachedHeader() throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], execution);
+    }
+
+    @Benchmark
+    public ClientHttpResponse authorizePerCall() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, BEER_URI);
+        OAuth2AuthorizedClient client = manager.authorize(OAuth2AuthorizeRequest.withClientRegistrationId("springauth")
+                .principal("my-client")
+                .build());
+
+        request.getHeaders().add(HttpHeaders.AUTHORIZATION, "Bearer " + client.getAccessToken().getTokenValue());
+        return execution.execute(request, new byte[0]);
+    }
+}
@@ -0,0 +1,133 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OAuthClientInterceptorTest {
+
+    OAuth2AuthorizedClientManager manager;
+    ClientRegistration clientRegistration;
+    OAuthClientInterceptor interceptor;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ClientHttpRequestExecution execution = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    @BeforeEach
+    void setUp() {
+        clientRegistration = ClientRegistration.withRegistrationId("springauth")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .clientId("test")
+                .tokenUri("test")
+                .build();
+        manager = mock(OAuth2AuthorizedClientManager.class);
+        interceptor = new OAuthClientInterceptor(manager, new InMemoryClientRegistrationRepository(clientRegistration),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptor.destroy();
+    }
+
+    @Test
+    void tokenIsFetchedOnceForConcurrentCallers() throws Exception {
+        when(manager.authorize(any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return authorizedClient("test", Instant.now().plusSeconds(300));
+        });
+
+        List<Callable<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            calls.add(() -> {
+                MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/api/v1/beer"));
+                interceptor.intercept(request, new byte[0], execution);
+                return request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            });
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (Future<String> header : executor.invokeAll(calls)) {
+                assertThat(header.get()).isEqualTo("Bearer test");
+            }
+        }
+
+        verify(manager, times(1)).authorize(any());
+        assertThat(meterRegistry.get("beer.client.token.acquisition")
+                .tags("trigger", "request", "outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsReplaced() throws Exception {
+        when(manager.authorize(any()))
+                .thenReturn(authorizedClient("old", Instant.now().minusSeconds(1)))
+                .thenReturn(authorizedClient("new", Instant.now().plusSeconds(300)));
+
+        MockClientHttpRequest first = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/api/v1/beer"));
+        interceptor.intercept(first, new byte[0], execution);
+        MockClientHttpRequest second = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/api/v1/beer"));
+        interceptor.intercept(second, new byte[0], execution);
+
+        assertThat(first.getHeaders().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer old");
+        assertThat(second.getHeaders().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer new");
+    }
+
+    @Test
+    void exchangeFilterSharesTheCachedToken() throws Exception {
+        when(manager.authorize(any())).thenReturn(authorizedClient("shared", Instant.now().plusSeconds(300)));
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/api/v1/beer")),
+                new byte[0], execution);
+
+        List<String> headers = new ArrayList<>();
+        ExchangeFunction exchange = request -> {
+            headers.add(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+        new OAuthExchangeFilter(interceptor).filter(
+                ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/api/v1/beer")).build(), exchange)
+                .block();
+
+        assertThat(headers).containsExactly("Bearer shared");
+        verify(manager, times(1)).authorize(any());
+    }
+
+    private OAuth2AuthorizedClient authorizedClient(String tokenValue, Instant expiresAt) {
+        OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                tokenValue, expiresAt.minusSeconds(600), expiresAt);
+        return new OAuth2AuthorizedClient(clientRegistration, "test", token);
+    }
+}
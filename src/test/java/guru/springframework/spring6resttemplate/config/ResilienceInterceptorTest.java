@@ -0,0 +1,203 @@
+package guru.springframework.spring6resttemplate.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilienceInterceptorTest {
+
+    static final URI BEER_URI = URI.create("http://localhost/api/v1/beer");
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    AdaptiveTimeouts timeouts = new AdaptiveTimeouts(Duration.ofMillis(100), Duration.ofSeconds(5), 4,
+            Duration.ofSeconds(1), meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void idempotentRequestIsRetriedOnServiceUnavailable() throws IOException {
+        ResilienceInterceptor interceptor = interceptor(3, 20, 10, 1, Duration.ofSeconds(10));
+
+        ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI),
+                new byte[0], respondWith(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(attempts).hasValue(2);
+        assertThat(meterRegistry.get("beer.client.retries").tags("method", "GET", "reason", "503")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void postIsNotRetried() throws IOException {
+        ResilienceInterceptor interceptor = interceptor(3, 20, 10, 1, Duration.ofSeconds(10));
+
+        ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, BEER_URI),
+                new byte[0], respondWith(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void circuitOpensOnFailuresAndClosesAfterSuccessfulProbe() throws Exception {
+        ResilienceInterceptor interceptor = interceptor(1, 4, 4, 1, Duration.ofMillis(100));
+        ClientHttpRequestExecution failing = respondWith(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], failing);
+        }
+        assertThat(interceptor.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThrows(CallNotPermittedException.class, () ->
+                interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], failing));
+        assertThat(attempts).hasValue(4);
+        assertThat(meterRegistry.get("beer.client.circuit.state").tag("state", "open").gauge().value()).isEqualTo(1);
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0],
+                respondWith(HttpStatus.OK));
+
+        assertThat(interceptor.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void localPoolTimeoutsSayNothingAboutTheService() {
+        ResilienceInterceptor interceptor = interceptor(3, 4, 4, 1, Duration.ofSeconds(10));
+        ClientHttpRequestExecution poolExhausted = (request, body) -> {
+            attempts.incrementAndGet();
+            // what ReactorClientHttpRequest throws when the HTTP/2 pool has no stream to give
+            throw new IOException("Pool acquire timeout", new IllegalStateException(
+                    new PoolAcquireTimeoutException(Duration.ofSeconds(2))));
+        };
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(IOException.class, () -> interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], poolExhausted));
+        }
+
+        assertThat(attempts).hasValue(6);
+        assertThat(interceptor.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void runtimeExceptionsDoNotOpenTheCircuit() {
+        ResilienceInterceptor interceptor = interceptor(3, 4, 4, 1, Duration.ofSeconds(10));
+        ClientHttpRequestExecution broken = (request, body) -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Not a valid request");
+        };
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(IllegalArgumentException.class, () -> interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], broken));
+        }
+
+        assertThat(attempts).hasValue(6);
+        assertThat(interceptor.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void concurrencyLimitBacksOffUnderOverloadAndRecovers() throws IOException {
+        ResilienceInterceptor interceptor = new ResilienceInterceptor(1, Duration.ofMillis(1), Duration.ofMillis(10),
+                10, 2, 20, Duration.ofMillis(10), 2, 100, 100, 50, 1, Duration.ofSeconds(10), timeouts, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0],
+                    respondWith(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(7);
+        assertThat(meterRegistry.get("beer.client.concurrency.limit").gauge().value()).isEqualTo(7);
+
+        // sequential calls never use half the limit, so they do not raise it
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0],
+                respondWith(HttpStatus.OK));
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(7);
+    }
+
+    @Test
+    void callsOverTheLimitWaitAndAreThenRejected() throws Exception {
+        ResilienceInterceptor interceptor = new ResilienceInterceptor(1, Duration.ofMillis(1), Duration.ofMillis(10),
+                1, 1, 1, Duration.ofMillis(50), 2, 100, 100, 50, 1, Duration.ofSeconds(10), timeouts, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ClientHttpResponse> first = executor.submit(() -> interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], (request, body) -> {
+                        started.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(meterRegistry.get("beer.client.concurrency.in.flight").gauge().value()).isEqualTo(1);
+            assertThrows(CallNotPermittedException.class, () -> interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, BEER_URI), new byte[0], respondWith(HttpStatus.OK)));
+            assertThat(attempts).hasValue(0);
+            assertThat(meterRegistry.get("beer.client.rejected").tag("reason", "limit_exceeded")
+                    .counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+        assertThat(meterRegistry.get("beer.client.concurrency.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void timeoutFollowsObservedLatency() {
+        assertThat(timeouts.timeoutMillis(HttpMethod.GET, URI.create("http://localhost/api/v1/beer/1"))).isEqualTo(5000);
+
+        for (int i = 0; i < AdaptiveTimeouts.MIN_SAMPLES; i++) {
+            timeouts.record(HttpMethod.GET, URI.create("http://localhost/api/v1/beer/" + i),
+                    TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertThat(timeouts.timeoutMillis(HttpMethod.GET, URI.create("http://localhost/api/v1/beer/42"))).isEqualTo(200);
+        assertThat(timeouts.timeoutMillis(HttpMethod.GET, BEER_URI)).isEqualTo(5000);
+    }
+
+    private ResilienceInterceptor interceptor(int maxAttempts, int windowSize, int minimumCalls, int probeCalls,
+                                              Duration openDuration) {
+        return new ResilienceInterceptor(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(10), 10, 1, 10,
+                Duration.ofMillis(10), 2, windowSize, minimumCalls, 50, probeCalls, openDuration, timeouts, meterRegistry);
+    }
+
+    /**
+     * Answers with the given statuses in turn, repeating the last one.
+     */
+    private ClientHttpRequestExecution respondWith(HttpStatus... statuses) {
+        Deque<HttpStatus> remaining = new ArrayDeque<>(Arrays.asList(statuses));
+        return (request, body) -> {
+            attempts.incrementAndGet();
+            HttpStatus status = remaining.size() > 1 ? remaining.poll() : remaining.peek();
+            return new MockClientHttpResponse(new byte[0], status);
+        };
+    }
+}
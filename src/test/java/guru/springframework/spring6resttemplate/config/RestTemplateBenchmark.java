@@ -0,0 +1,83 @@
+package guru.springframework.spring6resttemplate.config;
+
+import guru.springframework.spring6resttemplate.client.BeerClientImpl;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.stub.StubBeerServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a RestTemplate per call (the previous {@code BeerClientImpl} behaviour) with the
+ * shared template on the pooled keep-alive client from {@link RestTemplateBuilderConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class RestTemplateBenchmark {
+
+    StubBeerServer server;
+    RestTemplateBuilder perCallBuilder;
+    CloseableHttpClient pooledClient;
+    RestTemplate sharedRestTemplate;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = StubBeerServer.start();
+
+        perCallBuilder = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(server.getRootUrl()));
+
+        RestTemplateBuilderConfig config = new RestTemplateBuilderConfig();
+        config.maxTotalConnections = 100;
+        config.maxConnectionsPerRoute = 20;
+        config.idleTimeout = Duration.ofSeconds(30);
+        config.connectionTimeToLive = Duration.ofMinutes(5);
+        config.connectTimeout = Duration.ofSeconds(2);
+        pooledClient = config.beerHttpClient(config.beerConnectionManager());
+
+        sharedRestTemplate = perCallBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledClient))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pooledClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public BeerDTO buildPerCall() {
+        return perCallBuilder.build()
+                .getForObject(BeerClientImpl.GET_BEER_BY_ID_PATH, BeerDTO.class, StubBeerServer.BEER_ID);
+    }
+
+    @Benchmark
+    public BeerDTO sharedPooled() {
+        return sharedRestTemplate
+                .getForObject(BeerClientImpl.GET_BEER_BY_ID_PATH, BeerDTO.class, StubBeerServer.BEER_ID);
+    }
+}
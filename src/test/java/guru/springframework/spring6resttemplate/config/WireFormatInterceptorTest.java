@@ -0,0 +1,47 @@
+package guru.springframework.spring6resttemplate.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatInterceptorTest {
+
+    static final URI BEER_URI = URI.create("http://localhost:8080/api/v1/beer");
+
+    WireFormatInterceptor interceptor = new WireFormatInterceptor(WireFormat.CBOR);
+    ClientHttpRequestExecution execution = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    @Test
+    void preferredFormatFirstAndJsonAsFallback() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, BEER_URI);
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR));
+
+        interceptor.intercept(request, new byte[0], execution);
+
+        List<MediaType> accept = request.getHeaders().getAccept();
+        assertThat(accept).hasSize(2);
+        assertThat(accept.get(0)).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(accept.get(1).equalsTypeAndSubtype(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(accept.get(1).getQualityValue()).isEqualTo(0.5);
+    }
+
+    @Test
+    void acceptWithoutPreferredFormatIsLeftAlone() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, BEER_URI);
+        request.getHeaders().setAccept(List.of(MediaType.TEXT_PLAIN, MediaType.ALL));
+
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertThat(request.getHeaders().getAccept()).containsExactly(MediaType.TEXT_PLAIN, MediaType.ALL);
+    }
+}
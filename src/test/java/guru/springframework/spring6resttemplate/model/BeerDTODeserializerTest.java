@@ -0,0 +1,88 @@
+package guru.springframework.spring6resttemplate.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeerDTODeserializerTest {
+
+    BeerDTO beer = BeerDTO.builder()
+            .id(UUID.fromString("8f0c5ba1-3d4e-4c7a-9b2f-AB12cd34ef56"))
+            .version(3)
+            .beerName("Mango Bobs")
+            .beerStyle(BeerStyle.PALE_ALE)
+            .upc("0631234200036")
+            .quantityOnHand(122)
+            .price(new BigDecimal("12.99"))
+            .createdDate(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 120_000_000))
+            .updateDate(LocalDateTime.of(2024, 6, 1, 12, 30))
+            .build();
+
+    ObjectMapper isoMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void readsWhatTheBeerServiceWrites() throws Exception {
+        String json = isoMapper.writeValueAsString(beer);
+
+        assertThat(json).contains("\"2024-06-01T12:30:00\"", "\"2024-01-01T12:00:00.12\"");
+        assertThat(isoMapper.readValue(json, BeerDTO.class)).isEqualTo(beer);
+        assertThat(isoMapper.readValue("{\"beerName\":\"Galaxy Cat\",\"price\":null}", BeerDTO.class))
+                .isEqualTo(BeerDTO.builder().beerName("Galaxy Cat").build());
+    }
+
+    @Test
+    void otherShapesFallBackToTheRegularDeserializers() throws Exception {
+        ObjectMapper timestampMapper = JsonMapper.builder().findAndAddModules().build();
+        assertThat(timestampMapper.readValue(timestampMapper.writeValueAsBytes(beer), BeerDTO.class)).isEqualTo(beer);
+
+        String json = """
+                {"id":"8f0c5ba1-3d4e-4c7a-9b2f-ab12cd34ef56","version":"3","price":"12.99",
+                 "createdDate":"2024-01-01T12:00","beerStyle":"PORTER"}""";
+        assertThat(isoMapper.readValue(json, BeerDTO.class)).isEqualTo(BeerDTO.builder()
+                .id(beer.getId())
+                .version(3)
+                .price(new BigDecimal("12.99"))
+                .createdDate(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .beerStyle(BeerStyle.PORTER)
+                .build());
+
+        assertThatThrownBy(() -> isoMapper.readValue("{\"beerStyle\":\"SOUR\"}", BeerDTO.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> isoMapper.readValue("{\"id\":\"not-a-uuid\"}", BeerDTO.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void unknownPropertiesFollowTheMapperSettings() throws Exception {
+        String json = "{\"beerName\":\"Crank\",\"brewery\":{\"name\":\"Hop\"},\"upc\":\"1\"}";
+
+        assertThatThrownBy(() -> isoMapper.readValue(json, BeerDTO.class))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+        assertThat(isoMapper.readerFor(BeerDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .<BeerDTO>readValue(json))
+                .isEqualTo(BeerDTO.builder().beerName("Crank").upc("1").build());
+    }
+
+    @Test
+    void readsBinaryIdsFromSmile() throws Exception {
+        SmileMapper smileMapper = SmileMapper.builder().findAndAddModules().build();
+
+        assertThat(smileMapper.readValue(smileMapper.writeValueAsBytes(beer), BeerDTO.class)).isEqualTo(beer);
+    }
+}
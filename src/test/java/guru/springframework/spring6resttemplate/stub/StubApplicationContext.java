@@ -0,0 +1,34 @@
+package guru.springframework.spring6resttemplate.stub;
+
+import guru.springframework.spring6resttemplate.Spring6ResttemplateApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the real application wiring (pooled RestTemplate, OAuth interceptor, BeerClient beans) against a
+ * {@link StubBeerServer}, so benchmarks measure the same client configuration production uses.
+ */
+public final class StubApplicationContext {
+
+    private StubApplicationContext() {
+    }
+
+    /**
+     * @param properties extra {@code name=value} overrides; passed as command line arguments so they win
+     *                   over application.properties
+     */
+    public static ConfigurableApplicationContext start(StubBeerServer server, String... properties) {
+        String[] args = Stream.concat(
+                        Stream.of("server.port=0",
+                                "logging.level.root=WARN",
+                                "rest.template.rootUrl=" + server.getRootUrl(),
+                                "spring.security.oauth2.client.provider.springauth.token-uri=" + server.getTokenUri()),
+                        Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(Spring6ResttemplateApplication.class).run(args);
+    }
+}
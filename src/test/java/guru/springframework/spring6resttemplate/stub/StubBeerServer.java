@@ -0,0 +1,163 @@
+package guru.springframework.spring6resttemplate.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import guru.springframework.spring6resttemplate.client.BeerClientImpl;
+import guru.springframework.spring6resttemplate.model.BeerDTO;
+import guru.springframework.spring6resttemplate.model.BeerDTOPageImpl;
+import guru.springframework.spring6resttemplate.model.BeerStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal in-process beer service used by the JMH benchmarks. Serves canned JSON for every
+ * {@link BeerClientImpl} endpoint over HTTP/1.1 with keep-alive, plus a client-credentials token endpoint.
+ */
+public class StubBeerServer implements AutoCloseable {
+
+    public static final UUID BEER_ID = UUID.fromString("a7d9b4f2-3c41-4c2e-9b61-0d3c5b2e8f10");
+    public static final String TOKEN_PATH = "/oauth2/token";
+
+    private static final byte[] TOKEN_JSON =
+            "{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\",\"expires_in\":3600,\"scope\":\"read\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // headers and body are written separately; without this, keep-alive connections stall on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // the default (200) closes pooled client connections under fan-out benchmarks
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] beerJson;
+    private final byte[] pageJson;
+    private final long latencyMillis;
+
+    private StubBeerServer(int pageSize, long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        this.beerJson = objectMapper.writeValueAsBytes(beer(BEER_ID, 0));
+        this.pageJson = objectMapper.writeValueAsBytes(page(pageSize));
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext(BeerClientImpl.GET_BEER_PATH, this::handleBeer);
+        this.server.createContext(TOKEN_PATH, this::handleToken);
+        this.server.start();
+    }
+
+    public static StubBeerServer start() throws IOException {
+        return start(25);
+    }
+
+    public static StubBeerServer start(int pageSize) throws IOException {
+        return start(pageSize, 0);
+    }
+
+    /**
+     * @param latencyMillis simulated backend processing time added to every response
+     */
+    public static StubBeerServer start(int pageSize, long latencyMillis) throws IOException {
+        return new StubBeerServer(pageSize, latencyMillis);
+    }
+
+    public String getRootUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String getTokenUri() {
+        return getRootUrl() + TOKEN_PATH;
+    }
+
+    public static BeerDTO beer(UUID id, int index) {
+        return BeerDTO.builder()
+                .id(id)
+                .version(1)
+                .beerName("Stub Beer " + index)
+                .beerStyle(BeerStyle.values()[index % BeerStyle.values().length])
+                .upc("0631234200" + index)
+                .quantityOnHand(100 + index)
+                .price(new BigDecimal("12.99"))
+                .createdDate(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updateDate(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+
+    public static BeerDTOPageImpl page(int pageSize) {
+        List<BeerDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(beer(UUID.randomUUID(), i));
+        }
+        return new BeerDTOPageImpl(content, 0, pageSize, pageSize);
+    }
+
+    private void handleBeer(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+            simulateLatency();
+
+            String path = exchange.getRequestURI().getPath();
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> respond(exchange, 200,
+                        path.equals(BeerClientImpl.GET_BEER_PATH) ? pageJson : beerJson);
+                case "POST" -> {
+                    exchange.getResponseHeaders().add("Location", BeerClientImpl.GET_BEER_PATH + "/" + BEER_ID);
+                    respond(exchange, 201, null);
+                }
+                case "PUT", "DELETE" -> respond(exchange, 204, null);
+                default -> respond(exchange, 405, null);
+            }
+        }
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+            respond(exchange, 200, TOKEN_JSON);
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,75 @@
+package guru.springframework.spring6resttemplate.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import guru.springframework.spring6resttemplate.client.BeerClientImpl;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link StubBeerServer}'s beer reads on Reactor Netty, answering HTTP/1.1 and h2c (prior knowledge or upgrade)
+ * on the same port. Counts the TCP connections clients open, so benchmarks can compare socket use.
+ */
+public class StubH2cBeerServer implements AutoCloseable {
+
+    private final DisposableServer server;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final byte[] beerJson;
+    private final byte[] pageJson;
+    private final Duration latency;
+
+    private StubH2cBeerServer(int pageSize, long latencyMillis) throws IOException {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        this.beerJson = objectMapper.writeValueAsBytes(StubBeerServer.beer(StubBeerServer.BEER_ID, 0));
+        this.pageJson = objectMapper.writeValueAsBytes(StubBeerServer.page(pageSize));
+        this.latency = Duration.ofMillis(latencyMillis);
+
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .doOnChannelInit((observer, channel, address) -> connections.incrementAndGet())
+                .route(routes -> routes
+                        .get(BeerClientImpl.GET_BEER_PATH, (request, response) -> respond(response, pageJson))
+                        .get(BeerClientImpl.GET_BEER_PATH + "/{beerId}", (request, response) -> respond(response, beerJson)))
+                .bindNow();
+    }
+
+    /**
+     * @param latencyMillis simulated backend processing time added to every response
+     */
+    public static StubH2cBeerServer start(int pageSize, long latencyMillis) throws IOException {
+        return new StubH2cBeerServer(pageSize, latencyMillis);
+    }
+
+    public String getRootUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    /**
+     * @return TCP connections accepted since the server started
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, byte[] body) {
+        Mono<byte[]> delayed = latency.isZero() ? Mono.just(body) : Mono.just(body).delayElement(latency);
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(delayed)
+                .then();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}